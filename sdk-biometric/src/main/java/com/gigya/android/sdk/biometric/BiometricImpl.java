@@ -75,10 +75,20 @@ public abstract class BiometricImpl implements IBiometricImpl {
             cipher = _biometricKey.getEncryptionCipher(key);
         }
         Pair<String, String> encodedPair = encryptBiometricString(cipher, plain);
-        // Persist.
-        _persistenceService.add(PersistenceService.PREFS_KEY_SESSION, encodedPair.first);
-        _persistenceService.add(PersistenceService.PREFS_KEY_IV_SPEC, encodedPair.second);
-        _persistenceService.add(PersistenceService.PREFS_KEY_SESSION_ENCRYPTION_TYPE, GigyaDefinitions.SessionEncryption.FINGERPRINT);
+        // Pending default session writes must not override the biometric session.
+        // Bounded wait (3 seconds at most) on the calling (biometric callback) thread.
+        _sessionService.flush();
+        // Persist (single commit).
+        _persistenceService.beginTransaction();
+        try {
+            _persistenceService.add(PersistenceService.PREFS_KEY_SESSION, encodedPair.first);
+            _persistenceService.add(PersistenceService.PREFS_KEY_IV_SPEC, encodedPair.second);
+            _persistenceService.add(PersistenceService.PREFS_KEY_SESSION_ENCRYPTION_TYPE, GigyaDefinitions.SessionEncryption.FINGERPRINT);
+            _persistenceService.commitTransaction();
+        } catch (RuntimeException ex) {
+            _persistenceService.abortTransaction();
+            throw ex;
+        }
     }
 
     //endregion
@@ -18,6 +18,14 @@ public class Config {
 
     private boolean interruptionsEnabled = true;
     private int sessionVerificationInterval = 0;
+    /*
+    Verify the session with a minimal verifyLogin payload instead of refreshing the cached account on every tick.
+     */
+    private boolean sessionVerificationLightweight = false;
+    /*
+    Share the session between application processes via a file locked session store.
+     */
+    private boolean multiProcessSession = false;
     private Long serverOffset;
     private boolean secureActivityWindow = false;
 
@@ -63,6 +71,8 @@ public class Config {
                 config.getAccountCacheTime(),
                 config.getSessionVerificationInterval()
         );
+        this.sessionVerificationLightweight = config.isSessionVerificationLightweight();
+        this.multiProcessSession = config.isMultiProcessSession();
         if (config.getGmid() != null) {
             this.gmid = config.getGmid();
         }
@@ -135,6 +145,86 @@ public class Config {
         return accountCacheTime;
     }
 
+    /**
+     * Get the cached account stale window in minutes (0 = disabled).
+     */
+    public int getAccountStaleTime() {
+        if (gigyaAccountConfig != null) {
+            return gigyaAccountConfig.getStaleTime();
+        }
+        return 0;
+    }
+
+    /**
+     * Get the recently used account payload budget in kilobytes (0 = unbounded).
+     */
+    public int getAccountPayloadBudget() {
+        if (gigyaAccountConfig != null) {
+            return gigyaAccountConfig.getPayloadBudget();
+        }
+        return 0;
+    }
+
+    /**
+     * Check if the cached account should be persisted (encrypted) across application sessions.
+     */
+    public boolean isAccountCachePersistent() {
+        if (gigyaAccountConfig != null) {
+            return gigyaAccountConfig.isPersistentCache();
+        }
+        return false;
+    }
+
+    /**
+     * Check if successful account updates should be merged into the cached account.
+     */
+    public boolean isAccountOptimisticUpdate() {
+        if (gigyaAccountConfig != null) {
+            return gigyaAccountConfig.isOptimisticUpdate();
+        }
+        return false;
+    }
+
+    /**
+     * Check if an optimistically merged account should be refreshed in the background.
+     */
+    public boolean isAccountOptimisticReconcile() {
+        if (gigyaAccountConfig != null) {
+            return gigyaAccountConfig.isOptimisticReconcile();
+        }
+        return false;
+    }
+
+    /**
+     * Get the account update coalescing window in milliseconds (0 = disabled).
+     */
+    public long getAccountUpdateCoalesceWindow() {
+        if (gigyaAccountConfig != null) {
+            return gigyaAccountConfig.getUpdateCoalesceWindow();
+        }
+        return 0;
+    }
+
+    /**
+     * Get the number of recently used accounts kept in memory in addition to the current account (0 = disabled).
+     */
+    public int getMultiAccountCacheSize() {
+        if (gigyaAccountConfig != null) {
+            return gigyaAccountConfig.getMultiAccountCacheSize();
+        }
+        return 0;
+    }
+
+    /**
+     * Get the memory budget in kilobytes of recently used accounts (0 = unbounded).
+     */
+    public int getMultiAccountCacheBudget() {
+        if (gigyaAccountConfig != null) {
+            return gigyaAccountConfig.getMultiAccountCacheBudget();
+        }
+        return 0;
+    }
+
     @Deprecated
     // Will be removed in SDK code version 6.
     public void setAccountCacheTime(int accountCacheTime) {
@@ -157,6 +247,22 @@ public class Config {
         this.sessionVerificationInterval = sessionVerificationInterval;
     }
 
+    public boolean isSessionVerificationLightweight() {
+        return sessionVerificationLightweight;
+    }
+
+    public void setSessionVerificationLightweight(boolean sessionVerificationLightweight) {
+        this.sessionVerificationLightweight = sessionVerificationLightweight;
+    }
+
+    public boolean isMultiProcessSession() {
+        return multiProcessSession;
+    }
+
+    public void setMultiProcessSession(boolean multiProcessSession) {
+        this.multiProcessSession = multiProcessSession;
+    }
+
     public Long getServerOffset() {
         return serverOffset;
     }
@@ -7,6 +7,7 @@ import android.content.Context;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.gigya.android.sdk.account.AccountChangeObserver;
 import com.gigya.android.sdk.account.GigyaAccountClass;
 import com.gigya.android.sdk.account.GigyaAccountConfig;
 import com.gigya.android.sdk.account.IAccountService;
@@ -30,6 +31,7 @@ import com.gigya.android.sdk.schema.GigyaSchema;
 import com.gigya.android.sdk.session.ISessionService;
 import com.gigya.android.sdk.session.ISessionVerificationService;
 import com.gigya.android.sdk.session.SessionInfo;
+import com.gigya.android.sdk.session.SessionStateHandler;
 import com.gigya.android.sdk.session.SessionStateObserver;
 import com.gigya.android.sdk.ui.IPresenter;
 import com.gigya.android.sdk.ui.WebViewConfig;
@@ -43,6 +45,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.Executor;
 
 /**
  * Gigya SDK main interface.
@@ -191,8 +194,10 @@ public class Gigya<T extends GigyaAccount> {
         _container = container;
         _webAuthnService = webAuthnService;
 
-        // Setup sdk
-        _sessionService.load();
+        // Setup sdk. Configuration is loaded first, the session restore depends on it (multi process session).
+        // Session restore runs in the background. Session state queries wait for it when needed.
+        loadConfig();
+        _sessionService.loadAsync();
         init(false);
 
         // Must be registered following the init call. Dependent on full parsed config.
@@ -238,6 +243,17 @@ public class Gigya<T extends GigyaAccount> {
         init(true);
     }
 
+    /**
+     * Load configuration fields only if none have yet to be set.
+     */
+    private void loadConfig() {
+        if (_config.getApiKey() == null) {
+            // Try to from assets JSON file,
+            Config dynamicConfig = _configFactory.load();
+            _config.updateWith(dynamicConfig);
+        }
+    }
+
     /**
      * Implicitly initialize the SDK.
      * Available Options:
@@ -246,18 +262,28 @@ public class Gigya<T extends GigyaAccount> {
      * For explicit setting see {@link #init(String, String)} method.
      */
     private void init(boolean explicit) {
-        // Will load configuration fields only if none have yet to be set.
-        if (_config.getApiKey() == null) {
-            // Try to from assets JSON file,
-            Config dynamicConfig = _configFactory.load();
-            _config.updateWith(dynamicConfig);
-        }
+        loadConfig();
 
         // Set next account invalidation timestamp if available.
         if (_config.getAccountCacheTime() != 0) {
             _accountService.nextAccountInvalidationTimestamp();
         }
 
+        // Restore persisted account cache (background) for a valid session only.
+        // Evaluated once the session is restored, so init does not wait for the session restore.
+        if (_config.isAccountCachePersistent()) {
+            _sessionService.onRestored(new Runnable() {
+                @Override
+                public void run() {
+                    if (_sessionService.isValid()) {
+                        _accountService.loadPersistentAccount();
+                    } else {
+                        _accountService.invalidateAccounts();
+                    }
+                }
+            });
+        }
+
         if (explicit) {
             if (_config.getApiKey() == null || _config.getApiKey().isEmpty()) {
                 GigyaLogger.error(LOG_TAG, "Failed to set the SDK Api-Key. Please verify you have correctly initialized the SDK.");
@@ -375,6 +401,7 @@ public class Gigya<T extends GigyaAccount> {
      */
     public void setSession(@NonNull SessionInfo session) {
         _sessionService.setSession(session);
+        _accountService.onSessionChanged(null);
     }
 
     /**
@@ -407,8 +434,8 @@ public class Gigya<T extends GigyaAccount> {
         _sessionService.clear(true);
         _sessionService.clearCookiesOnLogout();
 
-        // Make sure account cache is also cleared.
-        _accountService.invalidateAccount();
+        // Make sure account cache (including recently used accounts) is also cleared.
+        _accountService.invalidateAccounts();
 
         _sessionVerificationService.stop();
 
@@ -445,6 +472,58 @@ public class Gigya<T extends GigyaAccount> {
         _sessionVerificationService.removeObserver(observer);
     }
 
+    /**
+     * Register a session event stream observer (session expired/invalidated).
+     * The latest event of the current session (if any) is replayed on registration.
+     */
+    public void registerSessionEventObserver(SessionStateHandler.SessionEventObserver observer) {
+        try {
+            getContainer().get(SessionStateHandler.class).registerEventObserver(observer);
+        } catch (Exception ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    public void unregisterSessionEventObserver(SessionStateHandler.SessionEventObserver observer) {
+        try {
+            getContainer().get(SessionStateHandler.class).removeEventObserver(observer);
+        } catch (Exception ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Set the executor session observers are notified on (main thread by default).
+     *
+     * @param dispatcher Dispatch executor. Null to restore the default.
+     */
+    public static void setSessionEventDispatcher(@Nullable Executor dispatcher) {
+        try {
+            getContainer().get(SessionStateHandler.class).setDispatcher(dispatcher);
+        } catch (Exception ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    //endregion
+
+    //region ACCOUNT OBSERVERS
+
+    /**
+     * Register an account change observer.
+     * Observers are notified when a cached account is replaced with different content (e.g. following a
+     * background refresh of a stale account).
+     *
+     * @param observer Account change observer.
+     */
+    public void registerAccountChangeObserver(AccountChangeObserver<T> observer) {
+        _accountService.registerAccountChangeObserver(observer);
+    }
+
+    public void unregisterAccountChangeObserver(AccountChangeObserver<T> observer) {
+        _accountService.removeAccountChangeObserver(observer);
+    }
+
     //endregion
 
     //region BUSINESS APIS
@@ -550,6 +629,18 @@ public class Gigya<T extends GigyaAccount> {
         _businessApiService.getAccount(gigyaCallback);
     }
 
+    /**
+     * Get a cached account by UID without sending a request.
+     * Recently used accounts are available when "multiAccountCacheSize" is set in the account configuration.
+     *
+     * @param uid Account UID.
+     * @return Account copy or null if no valid account is cached for the given UID.
+     */
+    @Nullable
+    public T getCachedAccount(@NonNull String uid) {
+        return _accountService.getCachedAccount(uid);
+    }
+
     /**
      * Request account info given parameters map.
      *
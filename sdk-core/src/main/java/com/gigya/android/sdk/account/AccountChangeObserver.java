@@ -0,0 +1,9 @@
+package com.gigya.android.sdk.account;
+
+import com.gigya.android.sdk.account.models.GigyaAccount;
+
+public interface AccountChangeObserver<A extends GigyaAccount> {
+
+    void onAccountChanged(A account);
+
+}
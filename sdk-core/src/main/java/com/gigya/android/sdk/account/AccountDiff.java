@@ -0,0 +1,75 @@
+package com.gigya.android.sdk.account;
+
+import com.gigya.android.sdk.utils.CustomGSONDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Account difference calculator.
+ * <p>
+ * Computes the minimal setAccountInfo payload by walking the updated account tree against the original
+ * account tree. Only changed fields are visited & materialized. Follows the same semantics as
+ * {@link com.gigya.android.sdk.utils.ObjectUtils#objectDifference(Map, Map)}: changed objects are diffed
+ * recursively, any other changed value (including arrays) is sent as a whole and removed fields are ignored.
+ */
+public class AccountDiff {
+
+    private static final CustomGSONDeserializer VALUE_READER = new CustomGSONDeserializer();
+
+    private AccountDiff() {
+        // Static use only.
+    }
+
+    /**
+     * Calculate the setAccountInfo parameters.
+     * Root object values are set as their JSON String representation. UID or regToken is always added.
+     *
+     * @param original Original account tree.
+     * @param updated  Updated account tree.
+     * @return Parameters map.
+     */
+    public static Map<String, Object> calculate(JsonObject original, JsonObject updated) {
+        final Map<String, Object> params = new HashMap<>();
+        if (updated == null) {
+            return params;
+        }
+        if (original != null) {
+            final JsonObject diff = difference(original, updated);
+            for (Map.Entry<String, JsonElement> entry : diff.entrySet()) {
+                final JsonElement value = entry.getValue();
+                params.put(entry.getKey(), value.isJsonObject() ? value.toString() : VALUE_READER.read(value));
+            }
+        }
+        /* Must have UID or regToken. */
+        if (updated.has("UID")) {
+            params.put("UID", VALUE_READER.read(updated.get("UID")));
+        } else if (updated.has("regToken")) {
+            params.put("regToken", VALUE_READER.read(updated.get("regToken")));
+        }
+        return params;
+    }
+
+    /**
+     * Get the changed fields of the updated tree.
+     */
+    private static JsonObject difference(JsonObject original, JsonObject updated) {
+        final JsonObject diff = new JsonObject();
+        for (Map.Entry<String, JsonElement> entry : updated.entrySet()) {
+            final String key = entry.getKey();
+            final JsonElement value = entry.getValue();
+            final JsonElement originalValue = original.get(key);
+            if (value.equals(originalValue)) {
+                continue;
+            }
+            if (value.isJsonObject() && originalValue != null && originalValue.isJsonObject()) {
+                diff.add(key, difference(originalValue.getAsJsonObject(), value.getAsJsonObject()));
+            } else {
+                diff.add(key, value);
+            }
+        }
+        return diff;
+    }
+}
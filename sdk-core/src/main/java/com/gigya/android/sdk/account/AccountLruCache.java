@@ -0,0 +1,108 @@
+package com.gigya.android.sdk.account;
+
+import androidx.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used account entries keyed by UID.
+ * <p>
+ * Each entry holds its own invalidation timestamp. Entries are evicted in least recently used order when the entry
+ * count or the memory budget is exceeded. Expired entries are dropped on access.
+ *
+ * @param <V> Cached entry type.
+ */
+public class AccountLruCache<V> {
+
+    final private int _maxEntries;
+    final private long _maxBytes;
+    private long _bytes = 0;
+
+    final private LinkedHashMap<String, Entry<V>> _entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * @param maxEntries Maximal number of entries.
+     * @param maxBytes   Memory budget in bytes (0 = unbounded).
+     */
+    public AccountLruCache(int maxEntries, long maxBytes) {
+        _maxEntries = maxEntries;
+        _maxBytes = maxBytes;
+    }
+
+    /**
+     * Add or replace an entry.
+     *
+     * @param uid                   Account UID.
+     * @param value                 Cached entry.
+     * @param size                  Approximate entry size in bytes.
+     * @param invalidationTimestamp Entry invalidation timestamp.
+     * @return True if the entry was added (entries exceeding the whole budget are not).
+     */
+    public synchronized boolean put(String uid, V value, long size, long invalidationTimestamp) {
+        remove(uid);
+        if (_maxEntries <= 0 || (_maxBytes > 0 && size > _maxBytes)) {
+            return false;
+        }
+        _entries.put(uid, new Entry<>(value, size, invalidationTimestamp));
+        _bytes += size;
+        trim();
+        return true;
+    }
+
+    /**
+     * Get a valid entry & mark it as recently used.
+     *
+     * @return Entry or null if missing or expired.
+     */
+    @Nullable
+    public synchronized V get(String uid) {
+        final Entry<V> entry = _entries.get(uid);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() > entry.invalidationTimestamp) {
+            remove(uid);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public synchronized void remove(String uid) {
+        final Entry<V> entry = _entries.remove(uid);
+        if (entry != null) {
+            _bytes -= entry.size;
+        }
+    }
+
+    public synchronized void clear() {
+        _entries.clear();
+        _bytes = 0;
+    }
+
+    public synchronized int size() {
+        return _entries.size();
+    }
+
+    private void trim() {
+        final Iterator<Map.Entry<String, Entry<V>>> iterator = _entries.entrySet().iterator();
+        while (iterator.hasNext() && (_entries.size() > _maxEntries || (_maxBytes > 0 && _bytes > _maxBytes))) {
+            _bytes -= iterator.next().getValue().size;
+            iterator.remove();
+        }
+    }
+
+    private static class Entry<V> {
+
+        final V value;
+        final long size;
+        final long invalidationTimestamp;
+
+        Entry(V value, long size, long invalidationTimestamp) {
+            this.value = value;
+            this.size = size;
+            this.invalidationTimestamp = invalidationTimestamp;
+        }
+    }
+}
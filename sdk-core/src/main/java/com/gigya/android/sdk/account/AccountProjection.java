@@ -0,0 +1,159 @@
+package com.gigya.android.sdk.account;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Account projection.
+ * <p>
+ * Describes which parts of the account were requested via the getAccountInfo "include" and "extraProfileFields"
+ * parameters. Used by the account cache to determine whether a request can be served from the cache and which
+ * projections are missing.
+ */
+public class AccountProjection {
+
+    public static final String PARAM_INCLUDE = "include";
+    public static final String PARAM_EXTRA_PROFILE_FIELDS = "extraProfileFields";
+
+    /*
+    Server default include value for getAccountInfo.
+     */
+    static final String DEFAULT_INCLUDE = "profile,data";
+
+    /*
+    Include values implicitly covered by a wider include value.
+     */
+    private static final Map<String, String> COVERED_BY = new HashMap<>();
+
+    static {
+        COVERED_BY.put("identities-active", "identities-all");
+    }
+
+    final private Set<String> _include;
+    final private Set<String> _extraProfileFields;
+
+    private AccountProjection(Set<String> include, Set<String> extraProfileFields) {
+        _include = Collections.unmodifiableSet(include);
+        _extraProfileFields = Collections.unmodifiableSet(extraProfileFields);
+    }
+
+    /**
+     * Create a projection from comma separated parameter values.
+     */
+    public static AccountProjection of(@Nullable Object include, @Nullable Object extraProfileFields) {
+        return new AccountProjection(split(include), split(extraProfileFields));
+    }
+
+    /**
+     * Resolve the requested projection of getAccountInfo parameters.
+     * Missing parameters fall back to the provided defaults (account configuration) and then to the server defaults.
+     */
+    public static AccountProjection resolve(@Nullable Map<String, Object> params,
+                                            @Nullable String[] defaultInclude,
+                                            @Nullable String[] defaultExtraProfileFields) {
+        Object include = params != null ? params.get(PARAM_INCLUDE) : null;
+        Object extraProfileFields = params != null ? params.get(PARAM_EXTRA_PROFILE_FIELDS) : null;
+        if (include == null) {
+            include = defaultInclude != null ? defaultInclude : DEFAULT_INCLUDE;
+        }
+        if (extraProfileFields == null) {
+            extraProfileFields = defaultExtraProfileFields;
+        }
+        return of(include, extraProfileFields);
+    }
+
+    private static Set<String> split(@Nullable Object value) {
+        final Set<String> result = new TreeSet<>();
+        if (value == null) {
+            return result;
+        }
+        final Collection<?> parts;
+        if (value instanceof String[]) {
+            parts = Arrays.asList((String[]) value);
+        } else if (value instanceof Collection) {
+            parts = (Collection<?>) value;
+        } else {
+            parts = Arrays.asList(value.toString().split(","));
+        }
+        for (Object part : parts) {
+            final String trimmed = String.valueOf(part).trim();
+            if (!trimmed.isEmpty()) {
+                result.add(trimmed);
+            }
+        }
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return _include.isEmpty() && _extraProfileFields.isEmpty();
+    }
+
+    /**
+     * Get the part of the requested projection not covered by this projection.
+     */
+    public AccountProjection missing(AccountProjection requested) {
+        final Set<String> include = new TreeSet<>();
+        for (String value : requested._include) {
+            final String coveredBy = COVERED_BY.get(value);
+            if (!_include.contains(value) && (coveredBy == null || !_include.contains(coveredBy))) {
+                include.add(value);
+            }
+        }
+        final Set<String> extraProfileFields = new TreeSet<>(requested._extraProfileFields);
+        extraProfileFields.removeAll(_extraProfileFields);
+        if (!extraProfileFields.isEmpty()) {
+            // Extra profile fields are returned within the profile.
+            include.add("profile");
+        }
+        return new AccountProjection(include, extraProfileFields);
+    }
+
+    public AccountProjection union(AccountProjection other) {
+        final Set<String> include = new TreeSet<>(_include);
+        include.addAll(other._include);
+        final Set<String> extraProfileFields = new TreeSet<>(_extraProfileFields);
+        extraProfileFields.addAll(other._extraProfileFields);
+        return new AccountProjection(include, extraProfileFields);
+    }
+
+    /**
+     * Apply the projection to a copy of the given getAccountInfo parameters.
+     */
+    public Map<String, Object> applyTo(@Nullable Map<String, Object> params) {
+        final Map<String, Object> result = params != null ? new HashMap<>(params) : new HashMap<String, Object>();
+        result.put(PARAM_INCLUDE, join(_include));
+        if (_extraProfileFields.isEmpty()) {
+            result.remove(PARAM_EXTRA_PROFILE_FIELDS);
+        } else {
+            result.put(PARAM_EXTRA_PROFILE_FIELDS, join(_extraProfileFields));
+        }
+        return result;
+    }
+
+    private static String join(Set<String> values) {
+        final StringBuilder builder = new StringBuilder();
+        final Iterator<String> iterator = values.iterator();
+        while (iterator.hasNext()) {
+            builder.append(iterator.next());
+            if (iterator.hasNext()) {
+                builder.append(',');
+            }
+        }
+        return builder.toString();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "include=" + _include + ", extraProfileFields=" + _extraProfileFields;
+    }
+}
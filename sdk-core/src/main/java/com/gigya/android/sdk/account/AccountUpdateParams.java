@@ -0,0 +1,114 @@
+package com.gigya.android.sdk.account;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.json.JSONObject;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * setAccountInfo parameters helpers.
+ * <p>
+ * Plain account field parameters (profile, data...) can be merged into a cached account or coalesced with other
+ * pending updates. Any other setAccountInfo parameter (passwords, login identifiers...) has server side effects
+ * and must be sent & resolved as is.
+ */
+public class AccountUpdateParams {
+
+    /*
+    Parameters mapped one to one to account fields.
+     */
+    static final Set<String> MERGEABLE_FIELDS = new HashSet<>(Arrays.asList(
+            "profile", "data", "preferences", "subscriptions", "communications", "isActive", "isVerified"));
+
+    /*
+    Account identifier parameters.
+     */
+    static final Set<String> IDENTIFIER_FIELDS = new HashSet<>(Arrays.asList("UID", "regToken"));
+
+    private AccountUpdateParams() {
+        // Static use only.
+    }
+
+    /**
+     * Check if all the given parameters are plain account fields or identifiers.
+     */
+    public static boolean isMergeable(Map<String, Object> params) {
+        if (params == null) {
+            return false;
+        }
+        for (String key : params.keySet()) {
+            if (!MERGEABLE_FIELDS.contains(key) && !IDENTIFIER_FIELDS.contains(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Coalesce two setAccountInfo parameter maps into a single update.
+     * Object fields are deep merged (null values are kept as field removals), any other value is
+     * overridden by the newer update.
+     *
+     * @param pending Pending parameters.
+     * @param next    Newer parameters.
+     * @return Coalesced parameters.
+     */
+    public static Map<String, Object> coalesce(Map<String, Object> pending, Map<String, Object> next) {
+        final Map<String, Object> result = new HashMap<>(pending);
+        for (Map.Entry<String, Object> entry : next.entrySet()) {
+            final String key = entry.getKey();
+            final Object pendingValue = result.get(key);
+            final JsonElement pendingObject = asJsonObject(pendingValue);
+            final JsonElement nextObject = asJsonObject(entry.getValue());
+            if (pendingObject != null && nextObject != null) {
+                final JsonObject merged = pendingObject.getAsJsonObject();
+                deepMerge(merged, nextObject.getAsJsonObject());
+                // Object fields must be set as their JSON String representation.
+                result.put(key, merged.toString());
+            } else {
+                result.put(key, entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get an object field value as a JSON tree.
+     *
+     * @return JSON object or null if the value does not represent an object.
+     */
+    static JsonObject asJsonObject(Object value) {
+        String json = null;
+        if (value instanceof String) {
+            json = ((String) value).trim();
+        } else if (value instanceof JSONObject) {
+            json = value.toString();
+        } else if (value instanceof Map) {
+            json = new JSONObject((Map) value).toString();
+        }
+        if (json == null || !json.startsWith("{")) {
+            return null;
+        }
+        final JsonElement element = JsonParser.parseString(json);
+        return element.isJsonObject() ? element.getAsJsonObject() : null;
+    }
+
+    private static void deepMerge(JsonObject target, JsonObject patch) {
+        for (Map.Entry<String, JsonElement> entry : patch.entrySet()) {
+            final JsonElement current = target.get(entry.getKey());
+            final JsonElement value = entry.getValue();
+            if (current != null && current.isJsonObject() && value.isJsonObject()) {
+                deepMerge(current.getAsJsonObject(), value.getAsJsonObject());
+            } else {
+                target.add(entry.getKey(), value);
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.gigya.android.sdk.account;
+
+import androidx.annotation.Nullable;
+
+import com.gigya.android.sdk.GigyaLogger;
+import com.gigya.android.sdk.utils.CompactJson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Memory bounded account payload.
+ * <p>
+ * Oversized root sub-trees of the account JSON (typically "data" or "identities") are spilled to a
+ * compact byte array representation while the remaining account fields are kept as a plain JSON skeleton.
+ * The full account JSON is reassembled on demand.
+ */
+public class BoundedAccountPayload {
+
+    private static final String LOG_TAG = "BoundedAccountPayload";
+
+    /*
+    Minimal root sub-tree size (in characters) required for spilling.
+     */
+    static final int MIN_SPILL_SIZE = 4 * 1024;
+
+    final private String _skeleton;
+    final private Map<String, CompactJson> _spilled;
+
+    private BoundedAccountPayload(String skeleton, Map<String, CompactJson> spilled) {
+        _skeleton = skeleton;
+        _spilled = spilled;
+    }
+
+    /**
+     * Split the given account JSON into skeleton & spilled sub-trees.
+     * Tokens are streamed from the source JSON, so no intermediate JSON tree is created.
+     *
+     * @param json Account JSON.
+     * @return Bounded payload or null if the JSON could not be streamed.
+     */
+    public static BoundedAccountPayload of(String json) {
+        final JsonReader reader = new JsonReader(new StringReader(json));
+        final StringWriter skeleton = new StringWriter();
+        final JsonWriter writer = new JsonWriter(skeleton);
+        final Map<String, CompactJson> spilled = new LinkedHashMap<>();
+        try {
+            reader.beginObject();
+            writer.beginObject();
+            while (reader.hasNext()) {
+                final String name = reader.nextName();
+                final JsonToken token = reader.peek();
+                if (token == JsonToken.BEGIN_OBJECT || token == JsonToken.BEGIN_ARRAY) {
+                    final StringWriter subTree = new StringWriter();
+                    copy(reader, new JsonWriter(subTree));
+                    final String subTreeJson = subTree.toString();
+                    if (subTreeJson.length() >= MIN_SPILL_SIZE) {
+                        spilled.put(name, CompactJson.encode(subTreeJson));
+                    } else {
+                        writer.name(name).jsonValue(subTreeJson);
+                    }
+                } else {
+                    writer.name(name);
+                    copy(reader, writer);
+                }
+            }
+            reader.endObject();
+            writer.endObject();
+            writer.flush();
+        } catch (Exception ex) {
+            GigyaLogger.error(LOG_TAG, "Unable to bound account payload: " + ex.getMessage());
+            return null;
+        }
+        return new BoundedAccountPayload(skeleton.toString(), spilled);
+    }
+
+    /**
+     * Reassemble the full account JSON.
+     *
+     * @return Account JSON.
+     */
+    public String toJson() {
+        if (_spilled.isEmpty()) {
+            return _skeleton;
+        }
+        final StringBuilder builder = new StringBuilder(_skeleton.length() + 1024);
+        builder.append(_skeleton, 0, _skeleton.lastIndexOf('}'));
+        boolean hasFields = _skeleton.length() > 2;
+        for (Map.Entry<String, CompactJson> entry : _spilled.entrySet()) {
+            if (hasFields) {
+                builder.append(',');
+            }
+            builder.append(new JsonPrimitive(entry.getKey()).toString()).append(':').append(entry.getValue().decode());
+            hasFields = true;
+        }
+        return builder.append('}').toString();
+    }
+
+    /**
+     * Get a root primitive field value. Primitives are never spilled, so the payload is not reassembled.
+     *
+     * @return Field value or null if missing or not a primitive.
+     */
+    @Nullable
+    public String getRootValue(String name) {
+        try {
+            final JsonElement value = JsonParser.parseString(_skeleton).getAsJsonObject().get(name);
+            return value != null && value.isJsonPrimitive() ? value.getAsString() : null;
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Get approximate retained payload size in bytes.
+     */
+    public int getRetainedSize() {
+        int size = _skeleton.length() * 2;
+        for (CompactJson compact : _spilled.values()) {
+            size += compact.getCompactSize();
+        }
+        return size;
+    }
+
+    /**
+     * Stream a single JSON value from reader to writer.
+     */
+    private static void copy(JsonReader reader, JsonWriter writer) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                reader.beginObject();
+                writer.beginObject();
+                while (reader.hasNext()) {
+                    writer.name(reader.nextName());
+                    copy(reader, writer);
+                }
+                reader.endObject();
+                writer.endObject();
+                break;
+            case BEGIN_ARRAY:
+                reader.beginArray();
+                writer.beginArray();
+                while (reader.hasNext()) {
+                    copy(reader, writer);
+                }
+                reader.endArray();
+                writer.endArray();
+                break;
+            case STRING:
+                writer.value(reader.nextString());
+                break;
+            case NUMBER:
+                writer.jsonValue(reader.nextString());
+                break;
+            case BOOLEAN:
+                writer.value(reader.nextBoolean());
+                break;
+            case NULL:
+                reader.nextNull();
+                writer.nullValue();
+                break;
+            default:
+                throw new IOException("Unexpected token: " + reader.peek());
+        }
+    }
+}
@@ -3,8 +3,39 @@ package com.gigya.android.sdk.account;
 public class GigyaAccountConfig {
 
     private int cacheTime = 0;
+    /*
+    Stale window in minutes following cache invalidation. A stale account is served immediately
+    while it is refreshed in the background. 0 = disabled.
+     */
+    private int staleTime = 0;
     private String[] include;
     private String[] extraProfileFields;
+    /*
+    Recently used account payload budget in kilobytes. When a recently used (not current) account exceeds the budget,
+    oversized sub-trees are held in a compact representation and decoded on demand. 0 = unbounded.
+     */
+    private int payloadBudget = 0;
+    /*
+    Persist the cached account (encrypted) so it survives process death. Requires cacheTime > 0.
+     */
+    private boolean persistentCache = false;
+    /*
+    Merge a successful account update into the cached account instead of re-fetching it.
+    When reconcile is set, the merged account is refreshed in the background.
+     */
+    private boolean optimisticUpdate = false;
+    private boolean optimisticReconcile = false;
+    /*
+    Window in milliseconds in which consecutive account updates are coalesced into a single
+    setAccountInfo request. 0 = disabled.
+     */
+    private long updateCoalesceWindow = 0;
+    /*
+    Number of recently used accounts (other than the current account) kept in memory, keyed by UID.
+    Memory budget in kilobytes for these accounts. 0 = disabled / unbounded.
+     */
+    private int multiAccountCacheSize = 0;
+    private int multiAccountCacheBudget = 0;
 
     public int getCacheTime() {
         return cacheTime;
@@ -14,6 +45,14 @@ public class GigyaAccountConfig {
         this.cacheTime = cacheTime;
     }
 
+    public int getStaleTime() {
+        return staleTime;
+    }
+
+    public void setStaleTime(int staleTime) {
+        this.staleTime = staleTime;
+    }
+
     public String[] getInclude() {
         return include;
     }
@@ -29,4 +68,60 @@ public class GigyaAccountConfig {
     public void setExtraProfileFields(String[] extraProfileFields) {
         this.extraProfileFields = extraProfileFields;
     }
+
+    public int getPayloadBudget() {
+        return payloadBudget;
+    }
+
+    public void setPayloadBudget(int payloadBudget) {
+        this.payloadBudget = payloadBudget;
+    }
+
+    public boolean isPersistentCache() {
+        return persistentCache;
+    }
+
+    public void setPersistentCache(boolean persistentCache) {
+        this.persistentCache = persistentCache;
+    }
+
+    public boolean isOptimisticUpdate() {
+        return optimisticUpdate;
+    }
+
+    public void setOptimisticUpdate(boolean optimisticUpdate) {
+        this.optimisticUpdate = optimisticUpdate;
+    }
+
+    public boolean isOptimisticReconcile() {
+        return optimisticReconcile;
+    }
+
+    public void setOptimisticReconcile(boolean optimisticReconcile) {
+        this.optimisticReconcile = optimisticReconcile;
+    }
+
+    public long getUpdateCoalesceWindow() {
+        return updateCoalesceWindow;
+    }
+
+    public void setUpdateCoalesceWindow(long updateCoalesceWindow) {
+        this.updateCoalesceWindow = updateCoalesceWindow;
+    }
+
+    public int getMultiAccountCacheSize() {
+        return multiAccountCacheSize;
+    }
+
+    public void setMultiAccountCacheSize(int multiAccountCacheSize) {
+        this.multiAccountCacheSize = multiAccountCacheSize;
+    }
+
+    public int getMultiAccountCacheBudget() {
+        return multiAccountCacheBudget;
+    }
+
+    public void setMultiAccountCacheBudget(int multiAccountCacheBudget) {
+        this.multiAccountCacheBudget = multiAccountCacheBudget;
+    }
 }
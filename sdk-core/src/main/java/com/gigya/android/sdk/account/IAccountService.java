@@ -12,12 +12,42 @@ public interface IAccountService<A extends GigyaAccount> {
 
     void setAccount(String json);
 
+    void setAccount(String json, AccountProjection projection);
+
+    void replaceAccount(String json, AccountProjection projection);
+
+    boolean refreshAccount(String json, AccountProjection projection);
+
+    AccountProjection getProjection(Map<String, Object> params);
+
+    AccountProjection getMissingProjection(AccountProjection requested);
+
     void invalidateAccount();
 
+    void invalidateAccounts();
+
+    void onSessionChanged(String uid);
+
+    A getCachedAccount(String uid);
+
+    void loadPersistentAccount();
+
     A getAccount();
 
+    A mergeAccount(Map<String, Object> params);
+
+    boolean isOptimisticReconcile();
+
+    long getUpdateCoalesceWindow();
+
     boolean isCachedAccount();
 
+    boolean isStaleCachedAccount();
+
+    void registerAccountChangeObserver(AccountChangeObserver<A> observer);
+
+    void removeAccountChangeObserver(AccountChangeObserver<A> observer);
+
     void nextAccountInvalidationTimestamp();
 
     long getNextInvalidationTimestamp();
@@ -25,4 +55,6 @@ public interface IAccountService<A extends GigyaAccount> {
     void setAccountOverrideCache(boolean accountOverrideCache);
 
     Map<String, Object> calculateDiff(A cachedAccount, A updatedAccount);
+
+    Map<String, Object> calculateDiff(A updatedAccount);
 }
@@ -0,0 +1,165 @@
+package com.gigya.android.sdk.account;
+
+import android.util.Base64;
+
+import androidx.annotation.Nullable;
+
+import com.gigya.android.sdk.GigyaLogger;
+import com.gigya.android.sdk.encryption.EncryptionException;
+import com.gigya.android.sdk.encryption.SessionCrypto;
+import com.gigya.android.sdk.persistence.IPersistenceService;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import javax.crypto.SecretKey;
+
+/**
+ * Encrypted on-disk account cache.
+ * <p>
+ * The account JSON is encrypted with the session KeyStore key (AES/GCM) and persisted together with its
+ * invalidation timestamp. All encryption & persistence work is performed on a dedicated serial thread,
+ * so saves, loads and removals are applied in call order and never block the calling thread.
+ */
+public class PersistentAccountCache {
+
+    private static final String LOG_TAG = "PersistentAccountCache";
+
+    private static final int GCM_IV_LENGTH = 12;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    public interface LoadCallback {
+
+        /**
+         * Called on the cache thread once the persisted account was loaded.
+         *
+         * @param json                  Decrypted account JSON or null if not available/expired.
+         * @param invalidationTimestamp Persisted invalidation timestamp.
+         */
+        void onLoaded(@Nullable String json, long invalidationTimestamp);
+    }
+
+    final private IPersistenceService _psService;
+    final private ExecutorService _executor;
+    final private SessionCrypto _crypto;
+
+    public PersistentAccountCache(IPersistenceService psService, SessionCrypto crypto) {
+        _psService = psService;
+        _crypto = crypto;
+        _executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                final Thread t = new Thread(runnable, "gigya-account-cache");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Encrypt & persist account JSON.
+     *
+     * @param json                  Account JSON.
+     * @param invalidationTimestamp Account cache invalidation timestamp.
+     */
+    public void save(final String json, final long invalidationTimestamp) {
+        _executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    final String encrypted = encrypt(json);
+                    if (encrypted != null) {
+                        _psService.setAccountCache(encrypted, invalidationTimestamp);
+                    }
+                } catch (Exception ex) {
+                    GigyaLogger.error(LOG_TAG, "save: unable to persist account: " + ex.getMessage());
+                    _psService.removeAccountCache();
+                }
+            }
+        });
+    }
+
+    /**
+     * Load & decrypt the persisted account.
+     * Expired entries are removed and reported as unavailable.
+     *
+     * @param callback Load callback (invoked on the cache thread).
+     */
+    public void load(final LoadCallback callback) {
+        _executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                String json = null;
+                final long invalidationTimestamp = _psService.getAccountCacheInvalidationTimestamp();
+                try {
+                    final String encrypted = _psService.getAccountCache();
+                    if (encrypted != null) {
+                        if (System.currentTimeMillis() < invalidationTimestamp) {
+                            json = decrypt(encrypted);
+                        } else {
+                            GigyaLogger.debug(LOG_TAG, "load: persisted account expired");
+                            _psService.removeAccountCache();
+                        }
+                    }
+                } catch (Exception ex) {
+                    GigyaLogger.error(LOG_TAG, "load: unable to restore account: " + ex.getMessage());
+                    _psService.removeAccountCache();
+                }
+                callback.onLoaded(json, invalidationTimestamp);
+            }
+        });
+    }
+
+    /**
+     * Remove the persisted account.
+     */
+    public void clear() {
+        _executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                _psService.removeAccountCache();
+            }
+        });
+    }
+
+    /**
+     * Encrypt given plain text. The generated IV is prepended to the cipher text.
+     */
+    @Nullable
+    private String encrypt(String plain) throws EncryptionException {
+        final SecretKey key = _crypto.getKey();
+        if (key == null) {
+            return null;
+        }
+        try {
+            final SessionCrypto.Sealed sealed = _crypto.encrypt(key, plain.getBytes(UTF_8));
+            final byte[] out = new byte[sealed.iv.length + sealed.cipherText.length];
+            System.arraycopy(sealed.iv, 0, out, 0, sealed.iv.length);
+            System.arraycopy(sealed.cipherText, 0, out, sealed.iv.length, sealed.cipherText.length);
+            return Base64.encodeToString(out, Base64.NO_WRAP);
+        } catch (Exception ex) {
+            _crypto.invalidateKey();
+            throw new EncryptionException("encryptAccount: exception" + ex.getMessage(), ex.getCause());
+        }
+    }
+
+    @Nullable
+    private String decrypt(String encrypted) throws EncryptionException {
+        final SecretKey key = _crypto.getKey();
+        if (key == null) {
+            return null;
+        }
+        try {
+            final byte[] in = Base64.decode(encrypted, Base64.NO_WRAP);
+            final byte[] iv = Arrays.copyOfRange(in, 0, GCM_IV_LENGTH);
+            final byte[] plain = _crypto.decrypt(key, iv, in, GCM_IV_LENGTH, in.length - GCM_IV_LENGTH);
+            return new String(plain, UTF_8);
+        } catch (Exception ex) {
+            _crypto.invalidateKey();
+            throw new EncryptionException("decryptAccount: exception" + ex.getMessage(), ex.getCause());
+        }
+    }
+}
@@ -1,15 +1,20 @@
 package com.gigya.android.sdk.account;
 
+import androidx.annotation.Nullable;
+
 import com.gigya.android.sdk.Config;
+import com.gigya.android.sdk.GigyaLogger;
 import com.gigya.android.sdk.account.models.GigyaAccount;
-import com.gigya.android.sdk.utils.AccountGSONDeserializer;
-import com.gigya.android.sdk.utils.CustomGSONDeserializer;
-import com.gigya.android.sdk.utils.ObjectUtils;
+import com.gigya.android.sdk.encryption.SessionCrypto;
+import com.gigya.android.sdk.persistence.IPersistenceService;
+import com.gigya.android.sdk.utils.AccountTypeAdapterFactory;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -19,29 +24,55 @@ import java.util.concurrent.TimeUnit;
  */
 public class accountCacheService<A extends GigyaAccount> implements IAccountService<A> {
 
+    private static final String LOG_TAG = "accountCacheService";
+
     final private Config _config;
+    final private IPersistenceService _psService;
+    final private SessionCrypto _crypto;
 
     /*
-    Cached generic account object.
+    Cached account entry. Replaced as a whole on every update so readers always see a consistent snapshot.
      */
-    private String _cachedAccount;
+    private volatile CachedAccount<A> _cachedAccount;
 
     @SuppressWarnings("unchecked")
     private Class<A> _accountScheme;
 
     /*
-    Invalidation timestamp for cached account.
+    Invalidation timestamp for cached account. Written by the persistent restore thread as well.
      */
-    private long _accountInvalidationTimestamp = 0L;
+    private volatile long _accountInvalidationTimestamp = 0L;
     /*
     Override account caching flag. Set to TRUE to override caching policy. This will result in consecutive getAccount HTTP requests firing
     every time the user will request "getAccount" from the SDK.
      */
     private boolean _accountOverrideCache = false;
 
+    /*
+    Encrypted on-disk account cache. Created on first use when enabled in the account configuration.
+     */
+    private PersistentAccountCache _persistentCache;
+
+    /*
+    Cache update generation. Used to discard a persistent restore that completes after a newer update.
+     */
+    private int _generation = 0;
 
-    public accountCacheService(Config config, GigyaAccountClass<A> accountClazz) {
+    /*
+    Account change observers. Notified when an update replaces the cached account with different content.
+     */
+    private final CopyOnWriteArrayList<AccountChangeObserver<A>> _changeObservers = new CopyOnWriteArrayList<>();
+
+    /*
+    Recently used accounts other than the current account, keyed by UID. Created on first use when enabled
+    in the account configuration.
+     */
+    private AccountLruCache<CachedAccount<A>> _recentAccounts;
+
+    public accountCacheService(Config config, IPersistenceService psService, SessionCrypto crypto, GigyaAccountClass<A> accountClazz) {
         _config = config;
+        _psService = psService;
+        _crypto = crypto;
         _accountScheme = accountClazz.getAccountClass();
     }
 
@@ -57,34 +88,552 @@ public class accountCacheService<A extends GigyaAccount> implements IAccountServ
 
     @Override
     public void setAccount(String json) {
-        _cachedAccount = json;
-        nextAccountInvalidationTimestamp();
+        setAccount(json, null);
+    }
+
+    /**
+     * Update the cached account with an account response of a known projection.
+     * A partial response for the currently cached account is merged field by field into the cache, so richer cached
+     * projections are kept. Any other update replaces the cached account.
+     *
+     * @param json       Account JSON.
+     * @param projection Response projection or null if unknown (account configuration projection is assumed).
+     */
+    @Override
+    public void setAccount(String json, @Nullable AccountProjection projection) {
+        updateAccount(json, projection, projection != null);
     }
 
+    /**
+     * Replace the cached account with a full account response of the given projection (e.g. a revalidation).
+     * The response is never merged, so server state replaces optimistic updates and the invalidation timestamp is
+     * renewed.
+     *
+     * @param json       Account JSON.
+     * @param projection Response projection.
+     */
+    @Override
+    public void replaceAccount(String json, AccountProjection projection) {
+        updateAccount(json, projection, false);
+    }
+
+    private void updateAccount(String json, @Nullable AccountProjection projection, boolean merge) {
+        if (json == null) {
+            invalidateAccount();
+            return;
+        }
+        final CachedAccount<A> current = _cachedAccount;
+        CachedAccount<A> cached = merge ? mergeEntry(current, json, projection) : null;
+        final boolean merged = cached != null;
+        if (!merged) {
+            cached = createEntry(json, projection != null ? projection : getDefaultProjection());
+        }
+        if (cached == null) {
+            invalidateAccount();
+            return;
+        }
+        final CachedAccount<A> previous;
+        final long previousInvalidationTimestamp;
+        synchronized (this) {
+            _generation++;
+            previous = _cachedAccount;
+            previousInvalidationTimestamp = _accountInvalidationTimestamp;
+            _cachedAccount = cached;
+        }
+        if (!merged) {
+            keepRecentAccount(previous, previousInvalidationTimestamp, cached.getUID());
+            // Merged entries keep the invalidation timestamp of the data they retain.
+            nextAccountInvalidationTimestamp();
+        }
+        if (isPersistentCacheEnabled()) {
+            getPersistentCache().save(merged ? cached.tree.toString() : json, _accountInvalidationTimestamp);
+        }
+        if (previous != null && !_changeObservers.isEmpty() && !cached.isSameAs(previous)) {
+            notifyAccountChanged();
+        }
+    }
+
+    /**
+     * Refresh the cached account with a partial account payload (e.g. a verifyLogin response or a missing projection).
+     * The payload is merged only into a valid cached account of the same UID. It never creates a cache entry,
+     * as such payloads do not hold the full account.
+     *
+     * @param json       Partial account JSON.
+     * @param projection Payload projection.
+     * @return True if the cached account was refreshed.
+     */
+    @Override
+    public boolean refreshAccount(String json, AccountProjection projection) {
+        final CachedAccount<A> current = _cachedAccount;
+        final CachedAccount<A> merged = json != null ? mergeEntry(current, json, projection) : null;
+        if (merged == null) {
+            return false;
+        }
+        synchronized (this) {
+            if (_cachedAccount != current) {
+                // Cache was replaced during the merge.
+                return false;
+            }
+            _generation++;
+            _cachedAccount = merged;
+        }
+        if (isPersistentCacheEnabled()) {
+            getPersistentCache().save(merged.tree.toString(), _accountInvalidationTimestamp);
+        }
+        if (!_changeObservers.isEmpty() && !merged.isSameAs(current)) {
+            notifyAccountChanged();
+        }
+        return true;
+    }
+
+    /**
+     * Create a cache entry from the given account JSON.
+     *
+     * @return Cache entry or null if the account could not be parsed.
+     */
+    private CachedAccount<A> createEntry(String json, AccountProjection projection) {
+        // Parse once. The current account is always kept parsed, cache hits are bound from the parsed tree.
+        try {
+            final JsonObject tree = JsonParser.parseString(json).getAsJsonObject();
+            return new CachedAccount<>(tree, baselineOf(tree), null, projection);
+        } catch (RuntimeException ex) {
+            GigyaLogger.error(LOG_TAG, "setAccount: unable to parse account: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Merge a partial account response into a valid cache entry of the same account.
+     * Root fields of the response replace the cached ones. Profile fields are merged one by one so extra profile
+     * fields fetched by previous requests are kept.
+     *
+     * @return Merged entry or null if the response cannot be merged.
+     */
+    @Nullable
+    private CachedAccount<A> mergeEntry(@Nullable CachedAccount<A> current, String json, AccountProjection projection) {
+        if (current == null || current.tree == null || !isValidEntry()) {
+            return null;
+        }
+        try {
+            final JsonObject partial = JsonParser.parseString(json).getAsJsonObject();
+            final JsonElement uid = partial.get("UID");
+            if (uid == null || !uid.equals(current.tree.get("UID"))) {
+                return null;
+            }
+            final JsonObject merged = current.tree.deepCopy();
+            for (Map.Entry<String, JsonElement> entry : partial.entrySet()) {
+                final JsonElement value = entry.getValue();
+                final JsonElement cachedValue = merged.get(entry.getKey());
+                if ("profile".equals(entry.getKey()) && value.isJsonObject() && cachedValue != null && cachedValue.isJsonObject()) {
+                    final JsonObject cachedProfile = cachedValue.getAsJsonObject();
+                    for (Map.Entry<String, JsonElement> field : value.getAsJsonObject().entrySet()) {
+                        cachedProfile.add(field.getKey(), field.getValue());
+                    }
+                } else {
+                    merged.add(entry.getKey(), value);
+                }
+            }
+            final JsonObject baseline = baselineOf(merged);
+            GigyaLogger.debug(LOG_TAG, "setAccount: merged partial projection " + projection);
+            return new CachedAccount<>(merged, baseline, null, current.projection.union(projection));
+        } catch (RuntimeException ex) {
+            GigyaLogger.error(LOG_TAG, "setAccount: unable to merge partial account: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    //region PROJECTIONS
+
+    private AccountProjection getDefaultProjection() {
+        return getProjection(null);
+    }
+
+    /**
+     * Resolve the projection requested by the given getAccountInfo parameters.
+     */
+    @Override
+    public AccountProjection getProjection(@Nullable Map<String, Object> params) {
+        final GigyaAccountConfig accountConfig = _config.getGigyaAccountConfig();
+        return AccountProjection.resolve(params,
+                accountConfig != null ? accountConfig.getInclude() : null,
+                accountConfig != null ? accountConfig.getExtraProfileFields() : null);
+    }
+
+    /**
+     * Get the part of the requested projection not held by the cached account.
+     */
+    @Override
+    public AccountProjection getMissingProjection(AccountProjection requested) {
+        final CachedAccount<A> cached = _cachedAccount;
+        if (cached == null) {
+            return requested;
+        }
+        return cached.projection.missing(requested);
+    }
+
+    //endregion
+
     @Override
     public void invalidateAccount() {
-        _cachedAccount = null;
+        final CachedAccount<A> previous = dropAccount();
+        final AccountLruCache<CachedAccount<A>> recentAccounts = getRecentAccounts();
+        if (previous != null && recentAccounts != null) {
+            recentAccounts.remove(previous.getUID());
+        }
+    }
+
+    /**
+     * Invalidate the cached account & all recently used accounts.
+     */
+    @Override
+    public void invalidateAccounts() {
+        dropAccount();
+        final AccountLruCache<CachedAccount<A>> recentAccounts = getRecentAccounts();
+        if (recentAccounts != null) {
+            recentAccounts.clear();
+        }
+    }
+
+    /**
+     * Invalidate the cached account on session change.
+     * When the session belongs to a different account, the cached account is kept as a recently used account
+     * (until its own invalidation time). Any cached entry of the session account is invalidated.
+     *
+     * @param uid Session account UID or null if unknown.
+     */
+    @Override
+    public void onSessionChanged(@Nullable String uid) {
+        final long invalidationTimestamp = _accountInvalidationTimestamp;
+        final CachedAccount<A> previous = dropAccount();
+        final AccountLruCache<CachedAccount<A>> recentAccounts = getRecentAccounts();
+        if (recentAccounts == null) {
+            return;
+        }
+        if (uid == null) {
+            if (previous != null) {
+                recentAccounts.remove(previous.getUID());
+            }
+            return;
+        }
+        keepRecentAccount(previous, invalidationTimestamp, uid);
+    }
+
+    /**
+     * Drop the current cached account.
+     *
+     * @return Dropped entry.
+     */
+    private CachedAccount<A> dropAccount() {
+        final CachedAccount<A> previous;
+        synchronized (this) {
+            _generation++;
+            previous = _cachedAccount;
+            _cachedAccount = null;
+        }
+        if (isPersistentCacheEnabled()) {
+            getPersistentCache().clear();
+        }
+        return previous;
+    }
+
+    //region RECENT ACCOUNTS
+
+    @Nullable
+    private synchronized AccountLruCache<CachedAccount<A>> getRecentAccounts() {
+        if (_recentAccounts == null) {
+            final int size = _config.getMultiAccountCacheSize();
+            if (size <= 0) {
+                return null;
+            }
+            _recentAccounts = new AccountLruCache<>(size, _config.getMultiAccountCacheBudget() * 1024L);
+        }
+        return _recentAccounts;
+    }
+
+    /**
+     * Keep a replaced account entry as a recently used account if it is still valid & belongs to another account.
+     */
+    private void keepRecentAccount(@Nullable CachedAccount<A> previous, long invalidationTimestamp, @Nullable String currentUID) {
+        final AccountLruCache<CachedAccount<A>> recentAccounts = getRecentAccounts();
+        if (recentAccounts == null) {
+            return;
+        }
+        if (currentUID != null) {
+            // Current account entry supersedes any recent entry.
+            recentAccounts.remove(currentUID);
+        }
+        if (previous == null || _accountOverrideCache || System.currentTimeMillis() > invalidationTimestamp) {
+            return;
+        }
+        final String uid = previous.getUID();
+        if (uid == null || uid.equals(currentUID)) {
+            return;
+        }
+        final CachedAccount<A> recent = compact(previous);
+        if (recentAccounts.put(uid, recent, recent.getRetainedSize(), invalidationTimestamp)) {
+            GigyaLogger.debug(LOG_TAG, "keepRecentAccount: recent accounts size = " + recentAccounts.size());
+        }
+    }
+
+    /**
+     * Compact a cold (recently used) account entry exceeding the payload budget.
+     * Oversized sub-trees are held in compact form and decoded only when the entry is read.
+     */
+    private CachedAccount<A> compact(CachedAccount<A> entry) {
+        final long payloadBudget = _config.getAccountPayloadBudget() * 1024L;
+        if (payloadBudget <= 0 || entry.tree == null) {
+            return entry;
+        }
+        final String json = entry.tree.toString();
+        if (json.length() <= payloadBudget) {
+            return entry;
+        }
+        final BoundedAccountPayload bounded = BoundedAccountPayload.of(json);
+        if (bounded == null) {
+            return entry;
+        }
+        GigyaLogger.debug(LOG_TAG, "compact: bounded payload retained size = " + bounded.getRetainedSize());
+        return new CachedAccount<>(null, null, bounded, entry.projection);
+    }
+
+    /**
+     * Get a hard copy of a cached account by UID.
+     * Served from the current account or from the recently used accounts.
+     *
+     * @param uid Account UID.
+     * @return Account copy or null if no valid account is cached for the given UID.
+     */
+    @Override
+    public A getCachedAccount(String uid) {
+        if (uid == null || _accountOverrideCache) {
+            return null;
+        }
+        final CachedAccount<A> cached = _cachedAccount;
+        if (cached != null && uid.equals(cached.getUID())) {
+            return isValidEntry() ? copyOf(cached) : null;
+        }
+        final AccountLruCache<CachedAccount<A>> recentAccounts = getRecentAccounts();
+        if (recentAccounts == null) {
+            return null;
+        }
+        final CachedAccount<A> recent = recentAccounts.get(uid);
+        return recent != null ? copyOf(recent) : null;
+    }
+
+    //endregion
+
+    //region PERSISTENT CACHE
+
+    private boolean isPersistentCacheEnabled() {
+        return _config.isAccountCachePersistent() && _config.getAccountCacheTime() > 0 && !_accountOverrideCache;
+    }
+
+    private synchronized PersistentAccountCache getPersistentCache() {
+        if (_persistentCache == null) {
+            _persistentCache = new PersistentAccountCache(_psService, _crypto);
+        }
+        return _persistentCache;
     }
 
+    /**
+     * Restore the persisted account on a background thread.
+     * Cache state queries never wait for the restore. While it is pending, the account is reported as not cached.
+     */
+    @Override
+    public void loadPersistentAccount() {
+        if (!isPersistentCacheEnabled() || hasCachedAccount()) {
+            return;
+        }
+        final int generation;
+        synchronized (this) {
+            generation = _generation;
+        }
+        getPersistentCache().load(new PersistentAccountCache.LoadCallback() {
+            @Override
+            public void onLoaded(String json, long invalidationTimestamp) {
+                if (json == null) {
+                    return;
+                }
+                final CachedAccount<A> cached = createEntry(json, getDefaultProjection());
+                if (cached == null) {
+                    return;
+                }
+                synchronized (accountCacheService.this) {
+                    if (generation != _generation) {
+                        // Account was updated while restoring. Newer state wins.
+                        return;
+                    }
+                    // Timestamp is published before the entry, so readers never see the entry with a stale timestamp.
+                    _accountInvalidationTimestamp = invalidationTimestamp;
+                    _cachedAccount = cached;
+                }
+                GigyaLogger.debug(LOG_TAG, "loadPersistentAccount: account restored");
+            }
+        });
+    }
+
+    //endregion
+
+    /**
+     * Get a hard copy of the cached account.
+     * The copy is bound from the parsed account tree, so the JSON text is not parsed again. Binding the copy is
+     * still a full (reflective) model binding per call.
+     *
+     * @return Account copy or null if no account is cached.
+     */
     @Override
     public A getAccount() {
-        return new GsonBuilder().registerTypeAdapter(_accountScheme,
-                new AccountGSONDeserializer<A>()).create() .fromJson(_cachedAccount, _accountScheme);
+        final CachedAccount<A> cached = _cachedAccount;
+        if (cached == null) {
+            return null;
+        }
+        return copyOf(cached);
+    }
+
+    private A copyOf(CachedAccount<A> cached) {
+        if (cached.bounded != null) {
+            return AccountTypeAdapterFactory.getGson().fromJson(cached.bounded.toJson(), _accountScheme);
+        }
+        return AccountTypeAdapterFactory.getGson().fromJson(cached.tree, _accountScheme);
+    }
+
+    /**
+     * Serialize the account model bound from the given tree. Used as the setAccount diff baseline.
+     * Computed when the cache entry is created, so later changes to account copies never affect it.
+     */
+    private JsonObject baselineOf(JsonObject tree) {
+        final Gson gson = AccountTypeAdapterFactory.getGson();
+        return gson.toJsonTree(gson.fromJson(tree, _accountScheme)).getAsJsonObject();
+    }
+
+    //region OPTIMISTIC UPDATE
+
+    /**
+     * Merge successfully sent setAccountInfo parameters into the cached account.
+     * Object fields (sent as maps or JSON Strings) are deep merged & null values remove fields, following the
+     * server side merge semantics. Parameters that do not map to plain account fields are not merged.
+     *
+     * Only a valid cached account is merged. The merged account keeps the invalidation timestamp of the cached data.
+     *
+     * @param params Sent setAccountInfo parameters.
+     * @return Merged account copy or null if optimistic update is disabled, no valid account is cached or the
+     * parameters cannot be merged.
+     */
+    @Override
+    public A mergeAccount(Map<String, Object> params) {
+        if (!_config.isAccountOptimisticUpdate() || _accountOverrideCache || params == null) {
+            return null;
+        }
+        final CachedAccount<A> cached = _cachedAccount;
+        if (cached == null || cached.tree == null || !isValidEntry()) {
+            return null;
+        }
+        final JsonObject merged = cached.tree.deepCopy();
+        try {
+            for (Map.Entry<String, Object> entry : params.entrySet()) {
+                final String key = entry.getKey();
+                if (AccountUpdateParams.IDENTIFIER_FIELDS.contains(key)) {
+                    continue;
+                }
+                if (!AccountUpdateParams.MERGEABLE_FIELDS.contains(key)) {
+                    GigyaLogger.debug(LOG_TAG, "mergeAccount: parameter " + key + " requires account refresh");
+                    return null;
+                }
+                mergeField(merged, key, toJsonElement(entry.getValue()));
+            }
+        } catch (RuntimeException ex) {
+            GigyaLogger.error(LOG_TAG, "mergeAccount: unable to merge update: " + ex.getMessage());
+            return null;
+        }
+        final CachedAccount<A> updated = new CachedAccount<>(merged, baselineOf(merged), null, cached.projection);
+        synchronized (this) {
+            if (_cachedAccount != cached) {
+                // Cache was replaced during the merge.
+                return null;
+            }
+            _generation++;
+            _cachedAccount = updated;
+        }
+        if (isPersistentCacheEnabled()) {
+            getPersistentCache().save(merged.toString(), _accountInvalidationTimestamp);
+        }
+        if (!_changeObservers.isEmpty() && !updated.isSameAs(cached)) {
+            notifyAccountChanged();
+        }
+        return getAccount();
+    }
+
+    @Override
+    public boolean isOptimisticReconcile() {
+        return _config.isAccountOptimisticReconcile();
+    }
+
+    @Override
+    public long getUpdateCoalesceWindow() {
+        return _config.getAccountUpdateCoalesceWindow();
+    }
+
+    private static JsonElement toJsonElement(Object value) {
+        // Object fields are sent as their JSON String representation.
+        final JsonObject object = AccountUpdateParams.asJsonObject(value);
+        if (object != null) {
+            return object;
+        }
+        return AccountTypeAdapterFactory.getGson().toJsonTree(value);
+    }
+
+    private static void mergeField(JsonObject target, String key, JsonElement patch) {
+        final JsonElement current = target.get(key);
+        if (patch.isJsonNull()) {
+            target.remove(key);
+        } else if (patch.isJsonObject() && current != null && current.isJsonObject()) {
+            final JsonObject currentObject = current.getAsJsonObject();
+            for (Map.Entry<String, JsonElement> entry : patch.getAsJsonObject().entrySet()) {
+                mergeField(currentObject, entry.getKey(), entry.getValue());
+            }
+        } else {
+            target.add(key, patch);
+        }
+    }
+
+    //endregion
+
+    private boolean hasCachedAccount() {
+        return _cachedAccount != null;
+    }
+
+    private boolean isValidEntry() {
+        return !_accountOverrideCache && System.currentTimeMillis() <= _accountInvalidationTimestamp;
     }
 
     @Override
     public boolean isCachedAccount() {
         if (_accountOverrideCache) return false;
-        if (_cachedAccount == null) return false;
-        if (_cachedAccount != null && System.currentTimeMillis() > _accountInvalidationTimestamp) {
+        // Non blocking. A pending persistent restore is a cache miss.
+        if (!hasCachedAccount()) return false;
+        if (System.currentTimeMillis() > _accountInvalidationTimestamp) {
             return false;
         }
         return true;
     }
 
+    /**
+     * Check if the cached account is expired but still within the configured stale window.
+     * A stale account can be served while it is refreshed in the background.
+     */
+    @Override
+    public boolean isStaleCachedAccount() {
+        if (_accountOverrideCache) return false;
+        final int staleTime = _config.getAccountStaleTime();
+        if (staleTime <= 0 || !hasCachedAccount()) {
+            return false;
+        }
+        return System.currentTimeMillis() <= _accountInvalidationTimestamp + TimeUnit.MINUTES.toMillis(staleTime);
+    }
+
     @Override
     public void nextAccountInvalidationTimestamp() {
-        if (_cachedAccount == null) {
+        if (!hasCachedAccount()) {
             return;
         }
         final int accountCacheTime = _config.getAccountCacheTime();
@@ -103,38 +652,58 @@ public class accountCacheService<A extends GigyaAccount> implements IAccountServ
         _accountOverrideCache = accountOverrideCache;
     }
 
+    //region ACCOUNT CHANGE OBSERVERS
+
+    @Override
+    public void registerAccountChangeObserver(AccountChangeObserver<A> observer) {
+        GigyaLogger.debug(LOG_TAG, "registerAccountChangeObserver: " + System.identityHashCode(observer));
+        _changeObservers.addIfAbsent(observer);
+    }
+
+    @Override
+    public void removeAccountChangeObserver(AccountChangeObserver<A> observer) {
+        GigyaLogger.debug(LOG_TAG, "removeAccountChangeObserver: " + System.identityHashCode(observer));
+        _changeObservers.remove(observer);
+    }
+
+    private void notifyAccountChanged() {
+        GigyaLogger.debug(LOG_TAG, "notifyAccountChanged");
+        for (AccountChangeObserver<A> observer : _changeObservers) {
+            // Each observer receives its own hard copy.
+            observer.onAccountChanged(getAccount());
+        }
+    }
+
+    //endregion
+
     //region ACCOUNT SPECIFIC LOGIC
 
     /**
      * Get account object objectDifference.
      */
-    @SuppressWarnings({"ConstantConditions"})
     @Override
     public Map<String, Object> calculateDiff(A cachedAccount, A updatedAccount) {
+        final Gson gson = AccountTypeAdapterFactory.getGson();
+        final JsonObject original = cachedAccount == null ? null : gson.toJsonTree(cachedAccount).getAsJsonObject();
+        final JsonObject updated = updatedAccount == null ? null : gson.toJsonTree(updatedAccount).getAsJsonObject();
+        return AccountDiff.calculate(original, updated);
+    }
 
-        final Gson gson = new GsonBuilder().registerTypeAdapter(new TypeToken<Map<String, Object>>() {
-        }.getType(), new CustomGSONDeserializer()).create();
-
-        /* Map updated account object to JSON -> Map. */
-        final String updatedJson = gson.toJson(updatedAccount);
-        Map<String, Object> updatedMap = gson.fromJson(updatedJson, new TypeToken<Map<String, Object>>() {
-        }.getType());
-
-        /* Map original account object to JSON -> Map. */
-        final String originalJson = gson.toJson(cachedAccount);
-        Map<String, Object> originalMap = gson.fromJson(originalJson, new TypeToken<Map<String, Object>>() {
-        }.getType());
-
-        /* Calculate objectDifference. */
-        Map<String, Object> diff = ObjectUtils.objectDifference(originalMap, updatedMap);
-        /* Must have UID or regToken. */
-        if (updatedMap.containsKey("UID")) {
-            diff.put("UID", updatedMap.get("UID"));
-        } else if (updatedMap.containsKey("regToken")) {
-            diff.put("regToken", updatedMap.get("regToken"));
+    /**
+     * Get account object objectDifference against the cached account.
+     * The serialized baseline of the cached account is computed once per cache entry and reused, so only the
+     * updated account is serialized per call.
+     */
+    @Override
+    public Map<String, Object> calculateDiff(A updatedAccount) {
+        final CachedAccount<A> cached = _cachedAccount;
+        if (cached == null || cached.baseline == null) {
+            // No baseline available (bounded payload or empty cache).
+            return calculateDiff(cached != null ? copyOf(cached) : null, updatedAccount);
         }
-        serializeObjectFields(gson, diff);
-        return diff;
+        final Gson gson = AccountTypeAdapterFactory.getGson();
+        final JsonObject updated = updatedAccount == null ? null : gson.toJsonTree(updatedAccount).getAsJsonObject();
+        return AccountDiff.calculate(cached.baseline, updated);
     }
 
     /**
@@ -150,4 +719,54 @@ public class accountCacheService<A extends GigyaAccount> implements IAccountServ
     }
 
     //endregion
+
+    /**
+     * Cached account entry. Never modified once published (account copies are bound from the tree).
+     * Holds either the parsed account tree & diff baseline or the memory bounded payload, together with the
+     * projection of the account it holds.
+     */
+    private static class CachedAccount<A> {
+
+        final JsonObject tree;
+        /*
+        Serialized account model. setAccount diff baseline.
+         */
+        final JsonObject baseline;
+        final BoundedAccountPayload bounded;
+        final AccountProjection projection;
+
+        CachedAccount(JsonObject tree, JsonObject baseline, BoundedAccountPayload bounded, AccountProjection projection) {
+            this.tree = tree;
+            this.baseline = baseline;
+            this.bounded = bounded;
+            this.projection = projection;
+        }
+
+        String getUID() {
+            if (tree == null) {
+                return bounded.getRootValue("UID");
+            }
+            final JsonElement uid = tree.get("UID");
+            return uid != null && uid.isJsonPrimitive() ? uid.getAsString() : null;
+        }
+
+        /**
+         * Approximate retained size in bytes.
+         */
+        long getRetainedSize() {
+            return bounded != null ? bounded.getRetainedSize() : tree.toString().length() * 2L;
+        }
+
+        /**
+         * Content comparison with another cache entry.
+         */
+        boolean isSameAs(CachedAccount<A> other) {
+            if (tree != null && other.tree != null) {
+                return tree.equals(other.tree);
+            }
+            final String json = tree != null ? tree.toString() : bounded.toJson();
+            final String otherJson = other.tree != null ? other.tree.toString() : other.bounded.toJson();
+            return json.equals(otherJson);
+        }
+    }
 }
@@ -0,0 +1,68 @@
+package com.gigya.android.sdk.api;
+
+import androidx.annotation.Nullable;
+
+import com.gigya.android.sdk.GigyaCallback;
+import com.gigya.android.sdk.account.AccountUpdateParams;
+import com.gigya.android.sdk.account.models.GigyaAccount;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write behind buffer for account updates.
+ * <p>
+ * Pending setAccountInfo parameters are coalesced into a single update while the buffer window is open.
+ * All callers of the coalesced update are resolved from its single response.
+ *
+ * @param <A> Typed account instance (extends GigyaAccount).
+ */
+public class AccountUpdateBuffer<A extends GigyaAccount> {
+
+    private Map<String, Object> _pendingParams;
+    private List<GigyaCallback<A>> _pendingCallbacks = new ArrayList<>();
+
+    /**
+     * Add an update to the buffer.
+     *
+     * @param params   setAccountInfo parameters.
+     * @param callback Caller callback (optional).
+     * @return True if this is the first pending update (buffer window should be opened).
+     */
+    public synchronized boolean add(Map<String, Object> params, @Nullable GigyaCallback<A> callback) {
+        final boolean first = _pendingParams == null;
+        _pendingParams = first ? params : AccountUpdateParams.coalesce(_pendingParams, params);
+        if (callback != null) {
+            _pendingCallbacks.add(callback);
+        }
+        return first;
+    }
+
+    /**
+     * Drain the buffer.
+     *
+     * @return Pending coalesced update or null if the buffer is empty.
+     */
+    @Nullable
+    public synchronized Batch<A> drain() {
+        if (_pendingParams == null) {
+            return null;
+        }
+        final Batch<A> batch = new Batch<>(_pendingParams, _pendingCallbacks);
+        _pendingParams = null;
+        _pendingCallbacks = new ArrayList<>();
+        return batch;
+    }
+
+    public static class Batch<A extends GigyaAccount> {
+
+        final Map<String, Object> params;
+        final List<GigyaCallback<A>> callbacks;
+
+        Batch(Map<String, Object> params, List<GigyaCallback<A>> callbacks) {
+            this.params = params;
+            this.callbacks = callbacks;
+        }
+    }
+}
@@ -15,8 +15,11 @@ import com.gigya.android.sdk.reporting.ReportingManager;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service responsible for mediating and executing HTTP based api requests.
@@ -30,6 +33,26 @@ public class ApiService implements IApiService {
     final private IApiRequestFactory _reqFactory;
     final private IPersistenceService _psService;
 
+    /*
+    Signed (session authenticated) request tracking. A successful signed request proves the session is valid.
+    In flight requests are removed on response, error or cancellation. Entries older than the request timeout are
+    not counted, so a lost callback never defers session verification indefinitely.
+     */
+    private static final long PENDING_REQUEST_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(60);
+    private volatile long _lastSignedSuccess = 0L;
+    final private Map<Object, PendingRequest> _pendingSignedRequests = new ConcurrentHashMap<>();
+
+    private static class PendingRequest {
+
+        final String tag;
+        final long sentAt;
+
+        PendingRequest(String tag, long sentAt) {
+            this.tag = tag;
+            this.sentAt = sentAt;
+        }
+    }
+
     public ApiService(Config config,
                       IRestAdapter adapter,
                       IApiRequestFactory reqFactory,
@@ -85,15 +108,28 @@ public class ApiService implements IApiService {
         GigyaLogger.debug(LOG_TAG, "sending: " + request.getApi());
         GigyaLogger.debug(LOG_TAG, "sending: params = " + request.getParams().toString());
 
+        final boolean tracked = !request.isAnonymous();
+        final Object pendingKey = new Object();
+        if (tracked) {
+            _pendingSignedRequests.put(pendingKey, new PendingRequest(request.getTag(), System.currentTimeMillis()));
+        }
         _adapter.send(request, blocking, new IRestAdapterCallback() {
             @Override
             public void onResponse(String jsonResponse, String responseDateHeader) {
 
                 updateOffset(responseDateHeader);
 
+                // Only the response envelope is evaluated here. Full parsing is deferred to the success path.
                 final GigyaApiResponse apiResponse = new GigyaApiResponse(jsonResponse);
                 final int apiErrorCode = apiResponse.getErrorCode();
 
+                if (tracked) {
+                    _pendingSignedRequests.remove(pendingKey);
+                    if (apiErrorCode == 0 && isSigned(request)) {
+                        _lastSignedSuccess = System.currentTimeMillis();
+                    }
+                }
+
                 GigyaLogger.debug(LOG_TAG, "SEND REQUEST with:\n" + jsonResponse);
 
                 // Check for timestamp skew error.
@@ -130,12 +166,45 @@ public class ApiService implements IApiService {
 
             @Override
             public void onError(GigyaError gigyaError) {
+                if (tracked) {
+                    _pendingSignedRequests.remove(pendingKey);
+                }
                 apiCallback.onApiError(gigyaError);
             }
 
         });
     }
 
+    /**
+     * Check if the request was signed with the session secret (authentication parameters are added when the
+     * request is signed for dispatch).
+     */
+    private boolean isSigned(GigyaApiRequest request) {
+        final Map<String, Object> params = request.getParams();
+        return params != null && params.containsKey("oauth_token");
+    }
+
+    @Override
+    public long getLastSignedSuccessTimestamp() {
+        return _lastSignedSuccess;
+    }
+
+    @Override
+    public int getPendingSignedRequestCount() {
+        final long now = System.currentTimeMillis();
+        int count = 0;
+        final Iterator<PendingRequest> iterator = _pendingSignedRequests.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().sentAt > PENDING_REQUEST_TIMEOUT_MS) {
+                // Callback lost. Drop the entry.
+                iterator.remove();
+            } else {
+                count++;
+            }
+        }
+        return count;
+    }
+
     @Override
     public void release() {
         _adapter.release();
@@ -144,6 +213,14 @@ public class ApiService implements IApiService {
     @Override
     public void cancel(String tag) {
         _adapter.cancel(tag);
+        // Cancelled requests never report back. Stop tracking them (null tag cancels all).
+        final Iterator<PendingRequest> iterator = _pendingSignedRequests.values().iterator();
+        while (iterator.hasNext()) {
+            final PendingRequest pending = iterator.next();
+            if (tag == null || tag.equals(pending.tag)) {
+                iterator.remove();
+            }
+        }
     }
 
 
@@ -189,11 +266,12 @@ public class ApiService implements IApiService {
                 final int apiErrorCode = apiResponse.getErrorCode();
                 if (apiErrorCode == 0) {
 
-                    final String gmid = apiResponse.getField("gcid", String.class);
-                    final String ucid = apiResponse.getField("ucid", String.class);
+                    final Map<String, Object> fields = apiResponse.getFields("gcid", "ucid", "refreshTime");
+                    final String gmid = apiResponse.convertField(fields.get("gcid"), String.class);
+                    final String ucid = apiResponse.convertField(fields.get("ucid"), String.class);
 
                     // Get gmidRefresh time.
-                    final Long refreshTime = apiResponse.getField("refreshTime", Long.class);
+                    final Long refreshTime = apiResponse.convertField(fields.get("refreshTime"), Long.class);
 
                     if (gmid == null || ucid == null) {
                         // Parsing error.
@@ -233,10 +311,17 @@ public class ApiService implements IApiService {
         _config.setUcid(ucid);
         _config.setGmidRefreshTime(refreshTime);
 
-        // Update prefs.
-        _psService.setGmid(gmid);
-        _psService.setUcid(ucid);
-        _psService.setGmidRefreshTime(refreshTime);
+        // Update prefs (single commit).
+        _psService.beginTransaction();
+        try {
+            _psService.setGmid(gmid);
+            _psService.setUcid(ucid);
+            _psService.setGmidRefreshTime(refreshTime);
+            _psService.commitTransaction();
+        } catch (RuntimeException ex) {
+            _psService.abortTransaction();
+            throw ex;
+        }
 
         release();
     }
@@ -1,5 +1,8 @@
 package com.gigya.android.sdk.api;
 
+import android.os.Handler;
+import android.os.Looper;
+
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
@@ -8,6 +11,8 @@ import com.gigya.android.sdk.GigyaCallback;
 import com.gigya.android.sdk.GigyaDefinitions;
 import com.gigya.android.sdk.GigyaLogger;
 import com.gigya.android.sdk.GigyaLoginCallback;
+import com.gigya.android.sdk.account.AccountProjection;
+import com.gigya.android.sdk.account.AccountUpdateParams;
 import com.gigya.android.sdk.account.IAccountService;
 import com.gigya.android.sdk.account.models.GigyaAccount;
 import com.gigya.android.sdk.interruption.IInterruptionResolverFactory;
@@ -22,11 +27,15 @@ import com.gigya.android.sdk.reporting.ReportingManager;
 import com.gigya.android.sdk.schema.GigyaSchema;
 import com.gigya.android.sdk.session.ISessionService;
 import com.gigya.android.sdk.session.SessionInfo;
+import com.gigya.android.sdk.utils.AccountTypeAdapterFactory;
 import com.gigya.android.sdk.utils.DeviceUtils;
 import com.gigya.android.sdk.utils.ObjectUtils;
+import com.google.gson.Gson;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Service responsible for sending and processing pre-defined API requests
@@ -45,6 +54,19 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
     final private IProviderFactory _providerFactory;
     final private IInterruptionResolverFactory _interruptionsHandler;
 
+    // Background account revalidation in flight.
+    private final AtomicBoolean _revalidating = new AtomicBoolean(false);
+
+    // Write behind account updates.
+    private final AccountUpdateBuffer<A> _updateBuffer = new AccountUpdateBuffer<>();
+    private Handler _updateHandler;
+    private final Runnable _flushAccountUpdates = new Runnable() {
+        @Override
+        public void run() {
+            flushAccountUpdates();
+        }
+    };
+
     public BusinessApiService(ISessionService sessionService,
                               IAccountService<A> accountService,
                               IApiService apiService,
@@ -81,10 +103,24 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
     //region CONDITIONALS & HELPERS
 
     private void updateWithNewSession(GigyaApiResponse apiResponse) {
-        if (apiResponse.containsNested("sessionInfo.sessionSecret")) {
-            final SessionInfo newSession = apiResponse.getField("sessionInfo", SessionInfo.class);
+        // Single walk for the session secret check & the session/UID fields.
+        final Map<String, Object> fields = apiResponse.getFields("sessionInfo.sessionSecret", "sessionInfo", "UID");
+        if (fields.get("sessionInfo.sessionSecret") != null) {
+            final SessionInfo newSession = apiResponse.convertField(fields.get("sessionInfo"), SessionInfo.class);
             _sessionService.setSession(newSession);
-            _accountService.invalidateAccount();
+            _accountService.onSessionChanged(apiResponse.convertField(fields.get("UID"), String.class));
+        }
+    }
+
+    /**
+     * Update session using an already parsed account.
+     * Avoids mapping the full account response only to evaluate the session fields.
+     */
+    private void updateWithNewSession(A parsedAccount) {
+        final SessionInfo newSession = parsedAccount.getSessionInfo();
+        if (newSession != null && newSession.getSessionSecret() != null) {
+            _sessionService.setSession(newSession);
+            _accountService.onSessionChanged(parsedAccount.getUID());
         }
     }
 
@@ -109,7 +145,7 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
                 ));
                 return;
             }
-            updateWithNewSession(response);
+            updateWithNewSession(parsed);
             updateCachedAccount(response);
             if (loginCallback != null) {
                 loginCallback.onSuccess(parsed);
@@ -207,6 +243,8 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
      */
     @Override
     public void logout(final GigyaCallback<GigyaApiResponse> gigyaCallback) {
+        // Pending account updates must be sent prior to session termination.
+        flushAccountUpdates();
         final GigyaApiRequest request = _reqFactory.create(GigyaDefinitions.API.API_LOGOUT, null, RestAdapter.HttpMethod.POST);
         _apiService.send(request, false, new ApiService.IApiServiceResponse() {
 
@@ -363,7 +401,7 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
                         ));
                         return;
                     }
-                    updateWithNewSession(response);
+                    updateWithNewSession(parsed);
                     updateCachedAccount(response);
                     gigyaCallback.onSuccess(parsed);
                 } else {
@@ -541,13 +579,69 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
             }
         }
 
-        // Check cached account state.
+        // Check cached account state. Only projections missing from the cached account are requested.
+        final AccountProjection requested = _accountService.getProjection(params);
         if (_accountService.isCachedAccount()) {
-            GigyaLogger.debug(LOG_TAG, "getAccount: Cached account used");
+            final AccountProjection missing = _accountService.getMissingProjection(requested);
+            if (missing.isEmpty()) {
+                GigyaLogger.debug(LOG_TAG, "getAccount: Cached account used");
+                gigyaCallback.onSuccess(_accountService.getAccount());
+                return;
+            }
+            GigyaLogger.debug(LOG_TAG, "getAccount: Requesting missing projection " + missing);
+            requestMissingProjection(params, missing, requested, gigyaCallback);
+            return;
+        }
+
+        // Stale while revalidate. Serve the stale account & refresh it in the background.
+        if (_accountService.isStaleCachedAccount() && _accountService.getMissingProjection(requested).isEmpty()) {
+            GigyaLogger.debug(LOG_TAG, "getAccount: Stale cached account used. Revalidating");
             gigyaCallback.onSuccess(_accountService.getAccount());
+            revalidateAccount(params);
             return;
         }
 
+        // Projection is sent explicitly so the request always matches the projection the response is cached under.
+        requestAccount(requested.applyTo(params), requested, gigyaCallback);
+    }
+
+    /**
+     * Request the projection missing from the cached account & merge it into the cached account.
+     * A partial response is never cached nor returned as the account. If it can no longer be merged (the cached
+     * account expired or was replaced meanwhile), the full requested projection is requested instead.
+     */
+    private void requestMissingProjection(@Nullable final Map<String, Object> params,
+                                          final AccountProjection missing,
+                                          final AccountProjection requested,
+                                          final GigyaCallback<A> gigyaCallback) {
+        final GigyaApiRequest request = _reqFactory.create(GigyaDefinitions.API.API_GET_ACCOUNT_INFO, missing.applyTo(params), RestAdapter.HttpMethod.POST);
+        _apiService.send(request, false, new ApiService.IApiServiceResponse() {
+            @Override
+            public void onApiSuccess(GigyaApiResponse response) {
+                if (response.getErrorCode() != 0) {
+                    gigyaCallback.onError(GigyaError.fromResponse(response));
+                    return;
+                }
+                final A account = _accountService.refreshAccount(response.asJson(), missing) ? _accountService.getAccount() : null;
+                if (account == null) {
+                    GigyaLogger.debug(LOG_TAG, "getAccount: Missing projection not merged. Requesting " + requested);
+                    requestAccount(requested.applyTo(params), requested, gigyaCallback);
+                    return;
+                }
+                gigyaCallback.onSuccess(account);
+            }
+
+            @Override
+            public void onApiError(GigyaError gigyaError) {
+                gigyaCallback.onError(gigyaError);
+            }
+        });
+    }
+
+    /**
+     * Request account info & update the cached account with the response of the given (full) projection.
+     */
+    private void requestAccount(Map<String, Object> params, final AccountProjection projection, final GigyaCallback<A> gigyaCallback) {
         final GigyaApiRequest request = _reqFactory.create(GigyaDefinitions.API.API_GET_ACCOUNT_INFO, params, RestAdapter.HttpMethod.POST);
         _apiService.send(request, false, new ApiService.IApiServiceResponse() {
             @Override
@@ -561,8 +655,9 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
                         ));
                         return;
                     }
-                    updateCachedAccount(response);
-                    gigyaCallback.onSuccess(parsed);
+                    _accountService.setAccount(response.asJson(), projection);
+                    final A account = _accountService.getAccount();
+                    gigyaCallback.onSuccess(account != null ? account : parsed);
                 } else {
                     gigyaCallback.onError(GigyaError.fromResponse(response));
                 }
@@ -576,79 +671,193 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
     }
 
     /**
-     * Request account update for current active session.
-     *
-     * @param updatedAccount Updated account instance.
-     * @param gigyaCallback  Response callback.
-     * @see <a href="https://developers.gigya.com/display/GD/accounts.setAccountInfo+REST">accounts.setAccountInfo REST</a>
+     * Send an account update.
+     * When a coalescing window is configured, plain account field updates are buffered and sent as a single
+     * setAccountInfo request once the window closes. Updates with server side effects are never buffered and
+     * flush pending updates first to preserve ordering.
      */
-    @Override
-    public void setAccount(A updatedAccount, final GigyaCallback<A> gigyaCallback) {
-        if (gigyaCallback == null) {
-            // Callback restricted api call.
+    private void sendAccountUpdate(Map<String, Object> params, GigyaCallback<A> gigyaCallback) {
+        final long window = _accountService.getUpdateCoalesceWindow();
+        if (window <= 0) {
+            sendSetAccountInfo(params, gigyaCallback);
             return;
         }
-        if (!_sessionService.isValid()) {
-            GigyaLogger.error(LOG_TAG, "Action requires a valid session");
-            gigyaCallback.onError(GigyaError.unauthorizedUser());
+        if (!AccountUpdateParams.isMergeable(params)) {
+            flushAccountUpdates();
+            sendSetAccountInfo(params, gigyaCallback);
+            return;
+        }
+        if (_updateBuffer.add(params, gigyaCallback)) {
+            getUpdateHandler().postDelayed(_flushAccountUpdates, window);
+        }
+    }
+
+    private void flushAccountUpdates() {
+        getUpdateHandler().removeCallbacks(_flushAccountUpdates);
+        final AccountUpdateBuffer.Batch<A> batch = _updateBuffer.drain();
+        if (batch == null) {
+            return;
+        }
+        GigyaLogger.debug(LOG_TAG, "flushAccountUpdates: coalesced updates = " + batch.callbacks.size());
+        sendSetAccountInfo(batch.params, fanOut(batch.callbacks));
+    }
+
+    private synchronized Handler getUpdateHandler() {
+        if (_updateHandler == null) {
+            _updateHandler = new Handler(Looper.getMainLooper());
+        }
+        return _updateHandler;
+    }
+
+    /**
+     * Resolve multiple callers from a single account response. Each caller receives its own account copy.
+     */
+    @Nullable
+    private GigyaCallback<A> fanOut(final List<GigyaCallback<A>> callbacks) {
+        if (callbacks.isEmpty()) {
+            return null;
+        }
+        if (callbacks.size() == 1) {
+            return callbacks.get(0);
         }
-        final Map<String, Object> params = _accountService.calculateDiff(_accountService.getAccount(), updatedAccount);
+        return new GigyaCallback<A>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public void onSuccess(A account) {
+                final Gson gson = AccountTypeAdapterFactory.getGson();
+                for (int i = 0; i < callbacks.size(); i++) {
+                    final A copy = i == 0 || account == null ? account : (A) gson.fromJson(gson.toJsonTree(account), account.getClass());
+                    callbacks.get(i).onSuccess(copy);
+                }
+            }
+
+            @Override
+            public void onError(GigyaError error) {
+                for (GigyaCallback<A> callback : callbacks) {
+                    callback.onError(error);
+                }
+            }
+        };
+    }
+
+    private void sendSetAccountInfo(final Map<String, Object> params, final GigyaCallback<A> gigyaCallback) {
         final GigyaApiRequest request = _reqFactory.create(GigyaDefinitions.API.API_SET_ACCOUNT_INFO, params, RestAdapter.HttpMethod.POST);
         _apiService.send(request, false, new ApiService.IApiServiceResponse() {
             @Override
             public void onApiSuccess(GigyaApiResponse response) {
                 if (response.getErrorCode() == 0) {
-                    // Invalidate cached account and call getAccount API.
-                    _accountService.invalidateAccount();
-                    getAccount(gigyaCallback);
-                } else {
+                    onAccountUpdated(params, gigyaCallback);
+                } else if (gigyaCallback != null) {
                     gigyaCallback.onError(GigyaError.fromResponse(response));
                 }
             }
 
             @Override
             public void onApiError(GigyaError gigyaError) {
-                gigyaCallback.onError(gigyaError);
+                if (gigyaCallback != null) {
+                    gigyaCallback.onError(gigyaError);
+                }
             }
         });
     }
 
+    /**
+     * Resolve a successful account update.
+     * With optimistic update enabled, the sent parameters are merged into the cached account which is served
+     * immediately. Otherwise the cached account is invalidated & re-fetched.
+     */
+    private void onAccountUpdated(Map<String, Object> params, GigyaCallback<A> gigyaCallback) {
+        final A merged = _accountService.mergeAccount(params);
+        if (merged == null) {
+            // Invalidate cached account and call getAccount API.
+            _accountService.invalidateAccount();
+            getAccount(gigyaCallback);
+            return;
+        }
+        GigyaLogger.debug(LOG_TAG, "setAccount: optimistic account update applied");
+        if (gigyaCallback != null) {
+            gigyaCallback.onSuccess(merged);
+        }
+        if (_accountService.isOptimisticReconcile()) {
+            revalidateAccount(null);
+        }
+    }
 
     /**
-     * Request account update for current active session.
+     * Refresh the cached account in the background.
+     * Only a single revalidation request is in flight at any time. Account change observers are notified
+     * by the account service if the refreshed account differs from the stale one.
      *
-     * @param params        Updated parameters.
-     * @param gigyaCallback Response callback.
-     * @see <a href="https://developers.gigya.com/display/GD/accounts.setAccountInfo+REST">accounts.setAccountInfo REST</a>
+     * @param params getAccountInfo parameters or null for the account configuration projection.
      */
-    @Override
-    public void setAccount(Map<String, Object> params, final GigyaCallback<A> gigyaCallback) {
-        if (!_sessionService.isValid()) {
-            GigyaLogger.error(LOG_TAG, "Action requires a valid session");
-            if (gigyaCallback != null) {
-                gigyaCallback.onError(GigyaError.unauthorizedUser());
-            }
+    private void revalidateAccount(@Nullable final Map<String, Object> params) {
+        if (!_revalidating.compareAndSet(false, true)) {
+            return;
         }
-        final GigyaApiRequest request = _reqFactory.create(GigyaDefinitions.API.API_SET_ACCOUNT_INFO, params, RestAdapter.HttpMethod.POST);
+        final AccountProjection projection = _accountService.getProjection(params);
+        final GigyaApiRequest request = _reqFactory.create(GigyaDefinitions.API.API_GET_ACCOUNT_INFO,
+                projection.applyTo(params), RestAdapter.HttpMethod.POST);
         _apiService.send(request, false, new ApiService.IApiServiceResponse() {
             @Override
             public void onApiSuccess(GigyaApiResponse response) {
+                _revalidating.set(false);
                 if (response.getErrorCode() == 0) {
-                    // Invalidate cached account and call getAccount API.
-                    _accountService.invalidateAccount();
-                    getAccount(gigyaCallback);
+                    // Server state replaces the cached account (including optimistic updates).
+                    _accountService.replaceAccount(response.asJson(), projection);
                 } else {
-                    gigyaCallback.onError(GigyaError.fromResponse(response));
+                    GigyaLogger.error(LOG_TAG, "revalidateAccount: failed with error code " + response.getErrorCode());
                 }
             }
 
             @Override
             public void onApiError(GigyaError gigyaError) {
-                gigyaCallback.onError(gigyaError);
+                _revalidating.set(false);
+                GigyaLogger.error(LOG_TAG, "revalidateAccount: " + gigyaError.getLocalizedMessage());
             }
         });
     }
 
+    /**
+     * Request account update for current active session.
+     *
+     * @param updatedAccount Updated account instance.
+     * @param gigyaCallback  Response callback.
+     * @see <a href="https://developers.gigya.com/display/GD/accounts.setAccountInfo+REST">accounts.setAccountInfo REST</a>
+     */
+    @Override
+    public void setAccount(A updatedAccount, final GigyaCallback<A> gigyaCallback) {
+        if (gigyaCallback == null) {
+            // Callback restricted api call.
+            return;
+        }
+        if (!_sessionService.isValid()) {
+            GigyaLogger.error(LOG_TAG, "Action requires a valid session");
+            gigyaCallback.onError(GigyaError.unauthorizedUser());
+        }
+        // Diff against the cached account baseline.
+        final Map<String, Object> params = _accountService.calculateDiff(updatedAccount);
+        sendAccountUpdate(params, gigyaCallback);
+    }
+
+
+    /**
+     * Request account update for current active session.
+     *
+     * @param params        Updated parameters.
+     * @param gigyaCallback Response callback.
+     * @see <a href="https://developers.gigya.com/display/GD/accounts.setAccountInfo+REST">accounts.setAccountInfo REST</a>
+     */
+    @Override
+    public void setAccount(Map<String, Object> params, final GigyaCallback<A> gigyaCallback) {
+        if (!_sessionService.isValid()) {
+            GigyaLogger.error(LOG_TAG, "Action requires a valid session");
+            if (gigyaCallback != null) {
+                gigyaCallback.onError(GigyaError.unauthorizedUser());
+            }
+        }
+        sendAccountUpdate(params, gigyaCallback);
+    }
+
     //endregion
 
     //region MISC
@@ -11,6 +11,7 @@ import com.gigya.android.sdk.GigyaLogger;
 import com.gigya.android.sdk.account.GigyaAccountConfig;
 import com.gigya.android.sdk.network.adapter.RestAdapter;
 import com.gigya.android.sdk.session.ISessionService;
+import com.gigya.android.sdk.session.SessionSnapshot;
 import com.gigya.android.sdk.utils.AuthUtils;
 import com.gigya.android.sdk.utils.UrlUtils;
 
@@ -131,10 +132,13 @@ public class GigyaApiRequestFactory implements IApiRequestFactory {
         GigyaLogger.debug(LOG_TAG, "sign: offset for signer = " + _config.getServerOffset());
 
         // Add authentication parameters. Get SDK Config request is an exception.
-        if (_sessionService.isValid() && !request.isAnonymous()) {
-            final String sessionToken = _sessionService.getSession().getSessionToken();
+        // Single read of the in-memory session state (no persistence access on the signing path).
+        // Anonymous requests do not read the session (nor wait for a pending session restore).
+        final SessionSnapshot snapshot = request.isAnonymous() ? null : _sessionService.getSnapshot();
+        if (snapshot != null && snapshot.isValid(System.currentTimeMillis())) {
+            final String sessionToken = snapshot.getSessionToken();
             request.getParams().put("oauth_token", sessionToken);
-            final String sessionSecret = _sessionService.getSession().getSessionSecret();
+            final String sessionSecret = snapshot.getSessionSecret();
             AuthUtils.addAuthenticationParameters(
                     sessionSecret,
                     request.getMethod().intValue(),
@@ -3,12 +3,10 @@ package com.gigya.android.sdk.api;
 import androidx.annotation.Nullable;
 
 import com.gigya.android.sdk.GigyaLogger;
-import com.gigya.android.sdk.utils.AccountGSONDeserializer;
+import com.gigya.android.sdk.utils.AccountTypeAdapterFactory;
 import com.gigya.android.sdk.utils.ObjectUtils;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 
-import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.util.Map;
@@ -25,9 +23,15 @@ public class GigyaApiResponse {
 
     private String json;
     private Map<String, Object> mapped;
+    private boolean parsed = false;
 
-    // GSON Support.
-    private Gson gson = new Gson();
+    /*
+    Root status fields. Available without full response parsing.
+     */
+    private final ResponseEnvelope envelope;
+
+    // GSON Support. Shared instance so resolved model adapters are reused across responses.
+    private static final Gson gson = new Gson();
 
     public Gson getGson() {
         return gson;
@@ -35,13 +39,25 @@ public class GigyaApiResponse {
 
     public GigyaApiResponse(String json) {
         this.json = json;
-        try {
-            JSONObject jo = new JSONObject(json);
-            mapped = ObjectUtils.toMap(jo);
-            GigyaLogger.debug(LOG_TAG, "json mapped!");
-        } catch (JSONException e) {
-            e.printStackTrace();
+        this.envelope = ResponseEnvelope.peek(json);
+    }
+
+    /**
+     * Lazy full response parsing.
+     * The response is mapped only when a non root status field is requested.
+     */
+    private synchronized Map<String, Object> getMapped() {
+        if (!parsed) {
+            parsed = true;
+            try {
+                JSONObject jo = new JSONObject(json);
+                mapped = ObjectUtils.toMap(jo);
+                GigyaLogger.debug(LOG_TAG, "json mapped!");
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
         }
+        return mapped;
     }
 
     /**
@@ -59,7 +75,7 @@ public class GigyaApiResponse {
      * @return Mapped response data.
      */
     public Map<String, Object> asMap() {
-        return this.mapped;
+        return getMapped();
     }
 
     /**
@@ -85,8 +101,7 @@ public class GigyaApiResponse {
     @Nullable
     public <A> A parseAccountTo(Class<A> clazz) {
         try {
-            return new GsonBuilder().registerTypeAdapter(clazz, new AccountGSONDeserializer<A>()).create()
-                    .fromJson(asJson(), clazz);
+            return AccountTypeAdapterFactory.getGson().fromJson(asJson(), clazz);
         } catch (Exception ex) {
             ex.printStackTrace();
         }
@@ -101,7 +116,8 @@ public class GigyaApiResponse {
      */
     @SuppressWarnings("LoopStatementThatDoesntLoop")
     public boolean contains(String key) {
-        return mapped.containsKey(key);
+        final Map<String, Object> map = getMapped();
+        return map != null && map.containsKey(key);
     }
 
     /**
@@ -112,62 +128,48 @@ public class GigyaApiResponse {
      * @return TRUE of nested key is present.
      */
     public boolean containsNested(String key) {
-        String[] split = key.split("\\.");
-        if (split.length == 1) {
-            return mapped.containsKey(key);
-        } else {
-            Map map = mapped;
-            for (int i = 0; i < split.length; i++) {
-                Object obj = map.get(split[i]);
-                if (obj == null) {
-                    return false;
-                }
-                if (obj instanceof Map) {
-                    map = (Map) obj;
-                } else if (i < split.length - 1) {
-                    return false;
-                }
-            }
-            return true;
-        }
+        return ResponseFieldPath.compile(key).existsIn(getMapped());
     }
 
     /**
      * Type field optional getter.
      * Allows fetching an parsed object from response parameters given required type.
-     * Uses GSON as the parsing engine.
+     * Nested keys are supported (example: sessionInfo.sessionSecret).
+     * Values are converted directly from the parsed response. GSON is used only for complex types.
      *
      * @param key   Requested parameter key.
      * @param clazz Required  parsed object type.
      * @return Parsed hard copy class according to provided key and type.
      */
-    @SuppressWarnings("unchecked")
     @Nullable
     public <T> T getField(String key, Class<T> clazz) {
-        String[] split = key.split("\\.");
-        if (split.length == 1) {
-            if (mapped.containsKey(key)) {
-                final String json = gson.toJson(mapped.get(key));
-                return gson.fromJson(json, clazz);
-            }
-        }
-        if (containsNested(key)) {
-            Map map = mapped;
-            Object obj = null;
-            for (int i = 0; i < split.length; i++) {
-                obj = map.get(split[i]);
-                if (i < split.length - 1) {
-                    map = (Map) obj;
-                }
-            }
-            if (obj == null) {
-                return null;
-            }
-            if (obj.getClass() == clazz) {
-                return (T) obj;
-            }
-        } else {
-            return null;
+        return convertField(ResponseFieldPath.compile(key).resolve(getMapped()), clazz);
+    }
+
+    /**
+     * Batch field getter.
+     * Extracts multiple (optionally nested) fields in a single walk of the response parameters.
+     *
+     * @param keys Requested parameter keys.
+     * @return Map of requested key to raw field value (null if not available).
+     */
+    public Map<String, Object> getFields(String... keys) {
+        return ResponseFieldPath.extract(getMapped(), keys);
+    }
+
+    /**
+     * Convert a raw field value (as returned by {@link #getFields(String...)}) to the required type.
+     *
+     * @param value Raw field value.
+     * @param clazz Required parsed object type.
+     * @return Parsed hard copy or null if not available.
+     */
+    @Nullable
+    public <T> T convertField(@Nullable Object value, Class<T> clazz) {
+        try {
+            return ResponseFieldPath.convert(gson, value, clazz);
+        } catch (Exception ex) {
+            ex.printStackTrace();
         }
         return null;
     }
@@ -180,9 +182,11 @@ public class GigyaApiResponse {
      * @return Integer status code.
      */
     public int getStatusCode() {
-        if (mapped == null) return INVALID_VALUE;
+        if (envelope != null) return envelope.getStatusCode();
+        final Map<String, Object> map = getMapped();
+        if (map == null) return INVALID_VALUE;
         try {
-            return (int) mapped.get("statusCode");
+            return (int) map.get("statusCode");
         } catch (Exception ex) {
             ex.printStackTrace();
             return INVALID_VALUE;
@@ -195,9 +199,11 @@ public class GigyaApiResponse {
      * @return Integer error code.
      */
     public int getErrorCode() {
-        if (mapped == null) return INVALID_VALUE;
+        if (envelope != null) return envelope.getErrorCode();
+        final Map<String, Object> map = getMapped();
+        if (map == null) return INVALID_VALUE;
         try {
-            return (int) mapped.get("errorCode");
+            return (int) map.get("errorCode");
         } catch (Exception ex) {
             ex.printStackTrace();
             return INVALID_VALUE;
@@ -211,10 +217,12 @@ public class GigyaApiResponse {
      */
     @Nullable
     public String getErrorDetails() {
-        if (mapped == null) return null;
+        if (envelope != null) return envelope.getErrorDetails();
+        final Map<String, Object> map = getMapped();
+        if (map == null) return null;
         try {
-            if (mapped.containsKey("errorDetails")) {
-                return (String) mapped.get("errorDetails");
+            if (map.containsKey("errorDetails")) {
+                return (String) map.get("errorDetails");
             }
         } catch (Exception ex) {
             ex.printStackTrace();
@@ -229,10 +237,12 @@ public class GigyaApiResponse {
      */
     @Nullable
     public String getStatusReason() {
-        if (mapped == null) return null;
+        if (envelope != null) return envelope.getStatusReason();
+        final Map<String, Object> map = getMapped();
+        if (map == null) return null;
         try {
-            if (mapped.containsKey("statusReason")) {
-                return (String) mapped.get("statusReason");
+            if (map.containsKey("statusReason")) {
+                return (String) map.get("statusReason");
             }
         } catch (Exception ex) {
             ex.printStackTrace();
@@ -247,10 +257,12 @@ public class GigyaApiResponse {
      */
     @Nullable
     public String getCallId() {
-        if (mapped == null) return null;
+        if (envelope != null) return envelope.getCallId();
+        final Map<String, Object> map = getMapped();
+        if (map == null) return null;
         try {
-            if (mapped.containsKey("callId")) {
-                return (String) mapped.get("callId");
+            if (map.containsKey("callId")) {
+                return (String) map.get("callId");
             }
         } catch (Exception ex) {
             ex.printStackTrace();
@@ -265,10 +277,12 @@ public class GigyaApiResponse {
      */
     @Nullable
     public String getTime() {
-        if (mapped == null) return null;
+        if (envelope != null) return envelope.getTime();
+        final Map<String, Object> map = getMapped();
+        if (map == null) return null;
         try {
-            if (mapped.containsKey("time")) {
-                return (String) mapped.get("time");
+            if (map.containsKey("time")) {
+                return (String) map.get("time");
             }
         } catch (Exception ex) {
             ex.printStackTrace();
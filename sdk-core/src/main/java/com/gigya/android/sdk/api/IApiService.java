@@ -11,4 +11,8 @@ public interface IApiService {
     void cancel(String tag);
 
     void getSdkConfig(final ApiService.IApiServiceResponse apiCallback);
+
+    long getLastSignedSuccessTimestamp();
+
+    int getPendingSignedRequestCount();
 }
@@ -0,0 +1,130 @@
+package com.gigya.android.sdk.api;
+
+import androidx.annotation.Nullable;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * Lightweight response envelope.
+ * <p>
+ * Holds the root level status fields of a Gigya response (errorCode, statusCode, callId...).
+ * Fields are pulled from the raw response by streaming the root object only. Nested values are skipped
+ * without being materialized, so error & retry evaluation does not pay the full response parse.
+ */
+public class ResponseEnvelope {
+
+    private static final int MISSING = GigyaApiResponse.INVALID_VALUE;
+
+    private int errorCode = MISSING;
+    private int statusCode = MISSING;
+    private String callId;
+    private String errorDetails;
+    private String statusReason;
+    private String time;
+
+    private ResponseEnvelope() {
+        // Created via peek only.
+    }
+
+    /**
+     * Scan the root object of the given raw response.
+     *
+     * @param json Raw JSON response.
+     * @return Response envelope or null if the response is not a valid JSON object.
+     */
+    @Nullable
+    public static ResponseEnvelope peek(@Nullable String json) {
+        if (json == null) {
+            return null;
+        }
+        final JsonReader reader = new JsonReader(new StringReader(json));
+        try {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                return null;
+            }
+            final ResponseEnvelope envelope = new ResponseEnvelope();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                final String name = reader.nextName();
+                final JsonToken token = reader.peek();
+                switch (name) {
+                    case "errorCode":
+                        envelope.errorCode = token == JsonToken.NUMBER ? reader.nextInt() : skip(reader);
+                        break;
+                    case "statusCode":
+                        envelope.statusCode = token == JsonToken.NUMBER ? reader.nextInt() : skip(reader);
+                        break;
+                    case "callId":
+                        envelope.callId = nextStringOrNull(reader, token);
+                        break;
+                    case "errorDetails":
+                        envelope.errorDetails = nextStringOrNull(reader, token);
+                        break;
+                    case "statusReason":
+                        envelope.statusReason = nextStringOrNull(reader, token);
+                        break;
+                    case "time":
+                        envelope.time = nextStringOrNull(reader, token);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return envelope;
+        } catch (Exception ex) {
+            // Malformed response. Full parsing will evaluate.
+            return null;
+        }
+    }
+
+    private static int skip(JsonReader reader) throws IOException {
+        reader.skipValue();
+        return MISSING;
+    }
+
+    @Nullable
+    private static String nextStringOrNull(JsonReader reader, JsonToken token) throws IOException {
+        if (token == JsonToken.STRING) {
+            return reader.nextString();
+        }
+        reader.skipValue();
+        return null;
+    }
+
+    //region GETTERS
+
+    public int getErrorCode() {
+        return errorCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    @Nullable
+    public String getCallId() {
+        return callId;
+    }
+
+    @Nullable
+    public String getErrorDetails() {
+        return errorDetails;
+    }
+
+    @Nullable
+    public String getStatusReason() {
+        return statusReason;
+    }
+
+    @Nullable
+    public String getTime() {
+        return time;
+    }
+
+    //endregion
+}
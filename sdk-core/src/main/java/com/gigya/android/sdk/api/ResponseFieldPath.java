@@ -0,0 +1,182 @@
+package com.gigya.android.sdk.api;
+
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+
+import org.json.JSONObject;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled response field path.
+ * <p>
+ * Dotted field keys (example: sessionInfo.sessionSecret) are split once and cached for the lifetime
+ * of the process. Resolving a compiled path walks the parsed response map directly and converts the
+ * resolved value to the requested type without a JSON String round trip.
+ */
+public class ResponseFieldPath {
+
+    /*
+    Compiled paths cache. Keys are SDK & application constants, the bound only protects against dynamic keys.
+    Least recently used paths are evicted first.
+     */
+    private static final int MAX_CACHED_PATHS = 256;
+    private static final Map<String, ResponseFieldPath> COMPILED =
+            new LinkedHashMap<String, ResponseFieldPath>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ResponseFieldPath> eldest) {
+                    return size() > MAX_CACHED_PATHS;
+                }
+            };
+
+    private final String _key;
+    private final String[] _segments;
+
+    private ResponseFieldPath(String key) {
+        _key = key;
+        _segments = key.split("\\.");
+    }
+
+    /**
+     * Get the compiled path for a given key.
+     *
+     * @param key Dotted field key.
+     * @return Cached compiled path.
+     */
+    public static ResponseFieldPath compile(String key) {
+        synchronized (COMPILED) {
+            ResponseFieldPath path = COMPILED.get(key);
+            if (path == null) {
+                path = new ResponseFieldPath(key);
+                COMPILED.put(key, path);
+            }
+            return path;
+        }
+    }
+
+    public String getKey() {
+        return _key;
+    }
+
+    public boolean isRoot() {
+        return _segments.length == 1;
+    }
+
+    /**
+     * Check if the path is present in the provided map.
+     * Intermediate path segments must be maps.
+     */
+    public boolean existsIn(@Nullable Map<String, Object> root) {
+        if (root == null) {
+            return false;
+        }
+        Map map = root;
+        for (int i = 0; i < _segments.length; i++) {
+            final Object obj = map.get(_segments[i]);
+            if (obj == null) {
+                return false;
+            }
+            if (obj instanceof Map) {
+                map = (Map) obj;
+            } else if (i < _segments.length - 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Resolve the raw value of the path.
+     *
+     * @return Raw value or null if the path is not available.
+     */
+    @Nullable
+    public Object resolve(@Nullable Map<String, Object> root) {
+        return resolveFrom(root, 0);
+    }
+
+    @Nullable
+    private Object resolveFrom(@Nullable Map root, int fromSegment) {
+        if (root == null) {
+            return null;
+        }
+        Map map = root;
+        for (int i = fromSegment; i < _segments.length - 1; i++) {
+            final Object obj = map.get(_segments[i]);
+            if (!(obj instanceof Map)) {
+                return null;
+            }
+            map = (Map) obj;
+        }
+        final Object value = map.get(_segments[_segments.length - 1]);
+        return value == JSONObject.NULL ? null : value;
+    }
+
+    /**
+     * Batch extract multiple paths using a single walk per shared parent.
+     * Parent maps resolved for one path are reused by all following paths sharing the same prefix.
+     *
+     * @param root Parsed response map.
+     * @param keys Requested dotted field keys.
+     * @return Map of requested key to raw value (null if not available).
+     */
+    public static Map<String, Object> extract(@Nullable Map<String, Object> root, String... keys) {
+        final Map<String, Object> result = new HashMap<>();
+        final Map<String, Map> parents = new HashMap<>();
+        for (String key : keys) {
+            final ResponseFieldPath path = compile(key);
+            if (path.isRoot()) {
+                result.put(key, path.resolve(root));
+                continue;
+            }
+            final String parentKey = key.substring(0, key.lastIndexOf('.'));
+            Map parent = parents.get(parentKey);
+            if (parent == null && !parents.containsKey(parentKey)) {
+                final Object resolved = compile(parentKey).resolve(root);
+                parent = resolved instanceof Map ? (Map) resolved : null;
+                parents.put(parentKey, parent);
+            }
+            result.put(key, path.resolveFrom(parent, path._segments.length - 1));
+        }
+        return result;
+    }
+
+    /**
+     * Convert a raw parsed value to the requested type.
+     * Scalar values and numeric types are converted without GSON. Complex types (maps & lists) are bound as hard
+     * copies from the parsed tree without serializing it to a JSON String.
+     *
+     * @param gson  GSON instance used for complex types.
+     * @param value Raw parsed value.
+     * @param clazz Requested type.
+     * @return Converted value or null if not available.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public static <T> T convert(Gson gson, @Nullable Object value, Class<T> clazz) {
+        if (value == null || value == JSONObject.NULL) {
+            return null;
+        }
+        final boolean complex = value instanceof Map || value instanceof List;
+        if (!complex && clazz.isInstance(value)) {
+            return (T) value;
+        }
+        if (value instanceof Number) {
+            final Number number = (Number) value;
+            if (clazz == Long.class || clazz == long.class) {
+                return (T) Long.valueOf(number.longValue());
+            } else if (clazz == Integer.class || clazz == int.class) {
+                return (T) Integer.valueOf(number.intValue());
+            } else if (clazz == Double.class || clazz == double.class) {
+                return (T) Double.valueOf(number.doubleValue());
+            } else if (clazz == Float.class || clazz == float.class) {
+                return (T) Float.valueOf(number.floatValue());
+            }
+        }
+        return gson.fromJson(gson.toJsonTree(value), clazz);
+    }
+}
@@ -19,6 +19,7 @@ import com.gigya.android.sdk.auth.IOauthService;
 import com.gigya.android.sdk.auth.IWebAuthnService;
 import com.gigya.android.sdk.auth.OauthService;
 import com.gigya.android.sdk.auth.WebAuthnService;
+import com.gigya.android.sdk.encryption.SessionCrypto;
 import com.gigya.android.sdk.interruption.IInterruptionResolverFactory;
 import com.gigya.android.sdk.interruption.InterruptionResolverFactory;
 import com.gigya.android.sdk.network.adapter.IRestAdapter;
@@ -33,6 +34,7 @@ import com.gigya.android.sdk.reporting.IReportingManager;
 import com.gigya.android.sdk.reporting.IReportingService;
 import com.gigya.android.sdk.reporting.ReportingManager;
 import com.gigya.android.sdk.reporting.ReportingService;
+import com.gigya.android.sdk.scheduler.GigyaScheduler;
 import com.gigya.android.sdk.session.ISessionService;
 import com.gigya.android.sdk.session.ISessionVerificationService;
 import com.gigya.android.sdk.session.SessionService;
@@ -62,6 +64,8 @@ public class GigyaContainer extends IoCContainer {
                 .bind(IReportingManager.class, ReportingManager.class, true)
                 .bind(IApiRequestFactory.class, GigyaApiRequestFactory.class, true)
                 .bind(SessionStateHandler.class, SessionStateHandler.class, true)
+                .bind(SessionCrypto.class, SessionCrypto.class, true)
+                .bind(GigyaScheduler.class, GigyaScheduler.class, true)
                 .bind(ISessionService.class, SessionService.class, true)
                 .bind(IAccountService.class, accountCacheService.class, true)
                 .bind(ISessionVerificationService.class, SessionVerificationService.class, true)
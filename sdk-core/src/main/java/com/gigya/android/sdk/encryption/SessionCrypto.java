@@ -0,0 +1,125 @@
+package com.gigya.android.sdk.encryption;
+
+import android.os.Build;
+
+import androidx.annotation.Nullable;
+
+import com.gigya.android.sdk.GigyaLogger;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+/**
+ * Session crypto component.
+ * <p>
+ * Resolves the KeyStore session key once and keeps it for the lifetime of the instance (bound as a singleton),
+ * so session persistence does not pay the KeyStore round trips on every save/load. Cipher instances are pooled
+ * per thread & re-initialized on every use, so a single instance is never shared between threads.
+ */
+public class SessionCrypto {
+
+    private static final String LOG_TAG = "SessionCrypto";
+
+    public static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    public static final int GCM_TAG_LENGTH = 128;
+
+    private volatile SecretKey _key;
+
+    private final ThreadLocal<Cipher> _ciphers = new ThreadLocal<>();
+
+    /**
+     * Get the session key. The key is resolved from the KeyStore (or generated) on first use only.
+     *
+     * @return Session key or null if not supported by the OS level.
+     */
+    @Nullable
+    public SecretKey getKey() throws EncryptionException {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
+            GigyaLogger.error(LOG_TAG, "SDK v7+ supports android M+ only");
+            return null;
+        }
+        SecretKey key = _key;
+        if (key == null) {
+            synchronized (this) {
+                key = _key;
+                if (key == null) {
+                    final long start = System.nanoTime();
+                    key = new SessionKeyV2().getKey();
+                    _key = key;
+                    logTiming("getKey", start);
+                }
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Drop the cached key. The key is resolved again on next use.
+     * Should be called when an operation with the cached key failed, as the KeyStore entry may have changed.
+     */
+    public void invalidateKey() {
+        _key = null;
+    }
+
+    /**
+     * Encrypt with a newly generated IV.
+     *
+     * @return Sealed IV & cipher text.
+     */
+    public Sealed encrypt(Key key, byte[] plain) throws GeneralSecurityException {
+        final long start = System.nanoTime();
+        final Cipher cipher = getCipher();
+        cipher.init(Cipher.ENCRYPT_MODE, key);
+        final Sealed sealed = new Sealed(cipher.getIV(), cipher.doFinal(plain));
+        logTiming("encrypt", start);
+        return sealed;
+    }
+
+    /**
+     * Decrypt a cipher text (or part of it) with the given IV.
+     */
+    public byte[] decrypt(Key key, byte[] iv, byte[] cipherText, int offset, int length) throws GeneralSecurityException {
+        final long start = System.nanoTime();
+        final Cipher cipher = getCipher();
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_LENGTH, iv));
+        final byte[] plain = cipher.doFinal(cipherText, offset, length);
+        logTiming("decrypt", start);
+        return plain;
+    }
+
+    public byte[] decrypt(Key key, byte[] iv, byte[] cipherText) throws GeneralSecurityException {
+        return decrypt(key, iv, cipherText, 0, cipherText.length);
+    }
+
+    private Cipher getCipher() throws GeneralSecurityException {
+        Cipher cipher = _ciphers.get();
+        if (cipher == null) {
+            cipher = Cipher.getInstance(TRANSFORMATION);
+            _ciphers.set(cipher);
+        }
+        return cipher;
+    }
+
+    private void logTiming(String operation, long startNanos) {
+        GigyaLogger.debug(LOG_TAG, operation + ": " + TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos) + " us");
+    }
+
+    /**
+     * Encryption result.
+     */
+    public static class Sealed {
+
+        final public byte[] iv;
+        final public byte[] cipherText;
+
+        Sealed(byte[] iv, byte[] cipherText) {
+            this.iv = iv;
+            this.cipherText = cipherText;
+        }
+    }
+}
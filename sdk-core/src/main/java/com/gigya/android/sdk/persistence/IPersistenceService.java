@@ -23,6 +23,14 @@ public interface IPersistenceService {
 
     void removeLegacySession();
 
+    void setAccountCache(String encryptedAccount, long invalidationTimestamp);
+
+    String getAccountCache();
+
+    long getAccountCacheInvalidationTimestamp();
+
+    void removeAccountCache();
+
     void setSessionEncryptionType(String encryptionType);
 
     String getSessionEncryptionType();
@@ -60,9 +68,19 @@ public interface IPersistenceService {
 
     String getCoreVersion();
 
+    void setSessionMigrationVersion(int version);
+
+    int getSessionMigrationVersion();
+
     void savePassKeys(String keys);
 
     String getPassKeys();
 
     void clearPassKeys();
+
+    void beginTransaction();
+
+    void commitTransaction();
+
+    void abortTransaction();
 }
@@ -94,6 +94,47 @@ public class PersistenceService implements IPersistenceService {
                 "session.Secret", "tsOffset", "session.ExpirationTime");
     }
 
+    /**
+     * Persist an encrypted account cache entry together with its invalidation timestamp.
+     *
+     * @param encryptedAccount      Encrypted account String.
+     * @param invalidationTimestamp Account cache invalidation timestamp (Long).
+     */
+    @Override
+    public void setAccountCache(String encryptedAccount, long invalidationTimestamp) {
+        apply(edit()
+                .putString(PREFS_KEY_ACCOUNT, encryptedAccount)
+                .putLong(PREFS_KEY_ACCOUNT_INVALIDATION_TIMESTAMP, invalidationTimestamp));
+    }
+
+    /**
+     * Get persistent account cache.
+     *
+     * @return Encrypted account String or null if account cache persistence does not exist.
+     */
+    @Override
+    public String getAccountCache() {
+        return getString(PREFS_KEY_ACCOUNT, null);
+    }
+
+    /**
+     * Get persistent account cache invalidation timestamp.
+     *
+     * @return Invalidation timestamp or 0 if timestamp does not exist.
+     */
+    @Override
+    public long getAccountCacheInvalidationTimestamp() {
+        return getLong(PREFS_KEY_ACCOUNT_INVALIDATION_TIMESTAMP, 0L);
+    }
+
+    /**
+     * Remove account cache from persistence store.
+     */
+    @Override
+    public void removeAccountCache() {
+        remove(PREFS_KEY_ACCOUNT, PREFS_KEY_ACCOUNT_INVALIDATION_TIMESTAMP);
+    }
+
     /**
      * Update session encryption type.
      *
@@ -136,7 +177,7 @@ public class PersistenceService implements IPersistenceService {
             providerSet = new HashSet<>();
         }
         providerSet.add(provider);
-        getPrefs().edit().putStringSet(PREFS_KEY_PROVIDER_SET, providerSet).apply();
+        apply(edit().putStringSet(PREFS_KEY_PROVIDER_SET, providerSet));
     }
 
     /**
@@ -150,12 +191,109 @@ public class PersistenceService implements IPersistenceService {
 
     //endregion
 
+    //region TRANSACTIONS
+
+    /*
+    Open transaction of the current thread.
+     */
+    final private ThreadLocal<Transaction> _transaction = new ThreadLocal<>();
+
+    private static class Transaction {
+
+        final SharedPreferences.Editor editor;
+        int depth = 1;
+        boolean aborted;
+
+        Transaction(SharedPreferences.Editor editor) {
+            this.editor = editor;
+        }
+    }
+
+    /**
+     * Begin a persistence transaction on the current thread.
+     * All writes made by the current thread until the matching {@link #commitTransaction()} are grouped into a
+     * single atomic apply (single file rewrite). Transactions may be nested, the outermost commit applies.
+     * Reads within the transaction do not reflect its pending writes.
+     * A write failure must end the transaction with {@link #abortTransaction()} rather than a commit:
+     * <pre>
+     * beginTransaction();
+     * try {
+     *     // Writes.
+     *     commitTransaction();
+     * } catch (RuntimeException ex) {
+     *     abortTransaction();
+     *     throw ex;
+     * }
+     * </pre>
+     */
+    @Override
+    public void beginTransaction() {
+        final Transaction transaction = _transaction.get();
+        if (transaction != null) {
+            transaction.depth++;
+            return;
+        }
+        _transaction.set(new Transaction(getPrefs().edit()));
+    }
+
+    /**
+     * Commit the current thread transaction.
+     */
+    @Override
+    public void commitTransaction() {
+        final Transaction transaction = _transaction.get();
+        if (transaction == null) {
+            return;
+        }
+        if (--transaction.depth == 0) {
+            _transaction.remove();
+            if (!transaction.aborted) {
+                transaction.editor.apply();
+            }
+        }
+    }
+
+    /**
+     * Abort the current thread transaction.
+     * Aborting a nested transaction aborts the outermost one. Its pending writes are discarded.
+     */
+    @Override
+    public void abortTransaction() {
+        final Transaction transaction = _transaction.get();
+        if (transaction == null) {
+            return;
+        }
+        transaction.aborted = true;
+        if (--transaction.depth == 0) {
+            _transaction.remove();
+        }
+    }
+
+    //endregion
+
     //region PRIVATE HELPERS
 
     private boolean contains(String key) {
         return getPrefs().contains(key);
     }
 
+    /**
+     * Get an editor. The open transaction editor of the current thread if available.
+     */
+    private SharedPreferences.Editor edit() {
+        final Transaction transaction = _transaction.get();
+        return transaction != null ? transaction.editor : getPrefs().edit();
+    }
+
+    /**
+     * Apply editor changes. Deferred to the commit if a transaction is open on the current thread.
+     */
+    private void apply(SharedPreferences.Editor editor) {
+        if (_transaction.get() == null) {
+            editor.apply();
+        }
+    }
+
     @Override
     public String getString(String key, String defValue) {
         return getPrefs().getString(key, defValue);
@@ -168,21 +306,21 @@ public class PersistenceService implements IPersistenceService {
 
     @Override
     public void add(String key, Object element) {
-        final SharedPreferences.Editor editor = getPrefs().edit();
+        final SharedPreferences.Editor editor = edit();
         if (element instanceof String) {
             editor.putString(key, (String) element);
         } else if (element instanceof Long) {
             editor.putLong(key, (Long) element);
         }
-        editor.apply();
+        apply(editor);
     }
 
     private void remove(String... keys) {
-        final SharedPreferences.Editor editor = getPrefs().edit();
+        final SharedPreferences.Editor editor = edit();
         for (String key : keys) {
             editor.remove(key);
         }
-        editor.apply();
+        apply(editor);
     }
 
     private Set<String> getSet(String key, Set<String> defValue) {
@@ -191,7 +329,7 @@ public class PersistenceService implements IPersistenceService {
 
     @Override
     public void setPushToken(String pushToken) {
-        getPrefs().edit().putString(PREFS_PUSH_TOKEN, pushToken).apply();
+        apply(edit().putString(PREFS_PUSH_TOKEN, pushToken));
     }
 
     @Nullable
@@ -202,18 +340,18 @@ public class PersistenceService implements IPersistenceService {
 
     @Override
     public void setGmid(String gmid) {
-        getPrefs().edit().putString(PREFS_GMID, gmid).apply();
+        apply(edit().putString(PREFS_GMID, gmid));
 
     }
 
     @Override
     public void setUcid(String ucid) {
-        getPrefs().edit().putString(PREFS_UCID, ucid).apply();
+        apply(edit().putString(PREFS_UCID, ucid));
     }
 
     @Override
     public void setGmidRefreshTime(long refreshTime) {
-        getPrefs().edit().putLong(PREFS_GMID_RT, refreshTime).apply();
+        apply(edit().putLong(PREFS_GMID_RT, refreshTime));
     }
 
     @Override
@@ -233,7 +371,7 @@ public class PersistenceService implements IPersistenceService {
 
     @Override
     public void setCoreVersion(String version) {
-        getPrefs().edit().putString(PREFS_CORE_VERSION, version).apply();
+        apply(edit().putString(PREFS_CORE_VERSION, version));
     }
 
     @Override
@@ -241,9 +379,19 @@ public class PersistenceService implements IPersistenceService {
         return getPrefs().getString(PREFS_CORE_VERSION, null);
     }
 
+    @Override
+    public void setSessionMigrationVersion(int version) {
+        apply(edit().putInt(PREFS_SESSION_MIGRATION_VERSION, version));
+    }
+
+    @Override
+    public int getSessionMigrationVersion() {
+        return getPrefs().getInt(PREFS_SESSION_MIGRATION_VERSION, 0);
+    }
+
     @Override
     public void savePassKeys(String keys) {
-        getPrefs().edit().putString(PREFS_PASSKEYS, keys).apply();
+        apply(edit().putString(PREFS_PASSKEYS, keys));
     }
 
     @Override
@@ -253,7 +401,7 @@ public class PersistenceService implements IPersistenceService {
 
     @Override
     public void clearPassKeys() {
-        getPrefs().edit().remove(PREFS_PASSKEYS).apply();
+        apply(edit().remove(PREFS_PASSKEYS));
     }
 
     //endregion
@@ -295,6 +443,16 @@ public class PersistenceService implements IPersistenceService {
      */
     public static final String PREFS_KEY_IV_SPEC_SESSION = "IV_session";
 
+    /*
+     * Value key for encrypted account cache persistence.
+     */
+    public static final String PREFS_KEY_ACCOUNT = "GS_ACCOUNT";
+
+    /*
+     * Value key for account cache invalidation timestamp.
+     */
+    public static final String PREFS_KEY_ACCOUNT_INVALIDATION_TIMESTAMP = "GS_ACCOUNT_INVALIDATION_TIMESTAMP";
+
     /*
      * Push token key.
      */
@@ -309,6 +467,11 @@ public class PersistenceService implements IPersistenceService {
 
     private static final String PREFS_CORE_VERSION = "GS_CORE_VERSION";
 
+    /*
+     * Value key for the applied persisted session migration version.
+     */
+    private static final String PREFS_SESSION_MIGRATION_VERSION = "GS_SESSION_MIGRATION_VERSION";
+
     public static final String PREFS_PASSKEYS = "GS_PASSKEYS";
 
     //endregion
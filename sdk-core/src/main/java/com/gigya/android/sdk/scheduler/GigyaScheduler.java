@@ -0,0 +1,164 @@
+package com.gigya.android.sdk.scheduler;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.SystemClock;
+
+import com.gigya.android.sdk.GigyaLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SDK deadline scheduler.
+ * <p>
+ * Single handler thread for all SDK timing (session expiration, session verification). Deadlines are bucketed into
+ * slots whose resolution grows with the distance of the deadline (timer wheel levels), so close deadlines are
+ * coalesced into a single wakeup. Only the earliest slot is armed, there are no periodic ticks.
+ * Tasks may run up to a single slot resolution late, never early.
+ */
+public class GigyaScheduler {
+
+    private static final String LOG_TAG = "GigyaScheduler";
+
+    /*
+    Wheel levels. A deadline within LEVEL_SPAN[i] of now is rounded up to LEVEL_RESOLUTION[i].
+    Farther deadlines use the last resolution. Delays below the first resolution are kept exact.
+     */
+    private static final long[] LEVEL_SPAN = {TimeUnit.MINUTES.toMillis(1), TimeUnit.HOURS.toMillis(1)};
+    private static final long[] LEVEL_RESOLUTION = {TimeUnit.SECONDS.toMillis(1), TimeUnit.SECONDS.toMillis(5),
+            TimeUnit.SECONDS.toMillis(30)};
+
+    // Pending tasks by slot (elapsed realtime).
+    final private TreeMap<Long, List<Task>> _slots = new TreeMap<>();
+
+    final private Runnable _wakeup = new Runnable() {
+        @Override
+        public void run() {
+            onWakeup();
+        }
+    };
+
+    private HandlerThread _thread;
+    private Handler _handler;
+
+    // Currently armed slot or 0 if none.
+    private long _armedSlot = 0;
+
+    /**
+     * Schedule a one shot task.
+     *
+     * @param action  Action to run on the scheduler thread.
+     * @param delayMs Delay in milliseconds.
+     * @return Cancelable task reference.
+     */
+    public synchronized Task schedule(Runnable action, long delayMs) {
+        final long now = SystemClock.elapsedRealtime();
+        final long delay = Math.max(0, delayMs);
+        final Task task = new Task(action, slotOf(now + delay, delay));
+        List<Task> slot = _slots.get(task._slot);
+        if (slot == null) {
+            slot = new ArrayList<>();
+            _slots.put(task._slot, slot);
+        }
+        slot.add(task);
+        arm(now);
+        return task;
+    }
+
+    /**
+     * Cancel a pending task. No op if the task already ran.
+     * A task cancelled after being collected for its wakeup will not run.
+     */
+    synchronized void cancel(Task task) {
+        task._canceled = true;
+        final List<Task> slot = _slots.get(task._slot);
+        if (slot != null && slot.remove(task) && slot.isEmpty()) {
+            _slots.remove(task._slot);
+            // The armed wakeup is left as is. It will re-arm the next pending slot.
+        }
+    }
+
+    private static long slotOf(long deadline, long delay) {
+        if (delay < LEVEL_RESOLUTION[0]) {
+            // Immediate & sub resolution deadlines are not delayed.
+            return deadline;
+        }
+        long resolution = LEVEL_RESOLUTION[LEVEL_RESOLUTION.length - 1];
+        for (int i = 0; i < LEVEL_SPAN.length; i++) {
+            if (delay <= LEVEL_SPAN[i]) {
+                resolution = LEVEL_RESOLUTION[i];
+                break;
+            }
+        }
+        // Round up. A task never runs before its deadline.
+        return ((deadline + resolution - 1) / resolution) * resolution;
+    }
+
+    /**
+     * Arm a wakeup for the earliest pending slot (if not already armed for it).
+     */
+    private void arm(long now) {
+        if (_slots.isEmpty()) {
+            return;
+        }
+        final long first = _slots.firstKey();
+        if (_armedSlot != 0 && _armedSlot <= first) {
+            return;
+        }
+        if (_handler == null) {
+            _thread = new HandlerThread("gigya-scheduler");
+            _thread.start();
+            _handler = new Handler(_thread.getLooper());
+        }
+        _handler.removeCallbacks(_wakeup);
+        _handler.postDelayed(_wakeup, Math.max(0, first - now));
+        _armedSlot = first;
+    }
+
+    private void onWakeup() {
+        final List<Task> due = new ArrayList<>();
+        synchronized (this) {
+            final long now = SystemClock.elapsedRealtime();
+            while (!_slots.isEmpty() && _slots.firstKey() <= now) {
+                final Map.Entry<Long, List<Task>> entry = _slots.pollFirstEntry();
+                due.addAll(entry.getValue());
+            }
+            _armedSlot = 0;
+            arm(now);
+        }
+        // Run outside the lock. Tasks may schedule further tasks.
+        for (Task task : due) {
+            if (task._canceled) {
+                continue;
+            }
+            try {
+                task._action.run();
+            } catch (Exception ex) {
+                GigyaLogger.error(LOG_TAG, "Scheduled task failed: " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Scheduled task reference.
+     */
+    public class Task {
+
+        final private Runnable _action;
+        final private long _slot;
+        private volatile boolean _canceled;
+
+        Task(Runnable action, long slot) {
+            _action = action;
+            _slot = slot;
+        }
+
+        public void cancel() {
+            GigyaScheduler.this.cancel(this);
+        }
+    }
+}
@@ -14,14 +14,22 @@ public interface ISessionService {
 
     void load();
 
+    void loadAsync();
+
+    void onRestored(Runnable action);
+
     SessionInfo getSession();
 
+    SessionSnapshot getSnapshot();
+
     void setSession(SessionInfo sessionInfo);
 
     boolean isValid();
 
     void clear(boolean clearStorage);
 
+    void flush();
+
     void startSessionCountdownTimerIfNeeded();
 
     void cancelSessionCountdownTimer();
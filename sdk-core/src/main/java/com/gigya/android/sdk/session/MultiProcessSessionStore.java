@@ -0,0 +1,260 @@
+package com.gigya.android.sdk.session;
+
+import android.content.Context;
+import android.os.Build;
+import android.os.FileObserver;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
+
+import com.gigya.android.sdk.GigyaLogger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.channels.FileLock;
+import java.nio.charset.Charset;
+
+/**
+ * Multi process session store (opt-in).
+ * <p>
+ * Keeps the encrypted session in a single file shared by all application processes. Writes are serialized with an
+ * exclusive file lock and stamped with an increasing generation, so concurrent processes never lose updates.
+ * Other processes are notified of changes via a FileObserver and reload the session only when the generation
+ * has changed.
+ * <p>
+ * Entry format (UTF-8 lines): generation, absolute expiration timestamp, encoded IV, encrypted session.
+ * An entry without session represents a cleared session.
+ */
+public class MultiProcessSessionStore {
+
+    private static final String LOG_TAG = "MultiProcessSessionStore";
+
+    private static final String DIRECTORY = "gigya_session";
+    private static final String STORE_FILE = "session.store";
+    private static final String LOCK_FILE = "session.lock";
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    public interface ChangeListener {
+
+        /**
+         * Session store was updated by another process (FileObserver thread).
+         */
+        void onStoreChanged(Entry entry);
+    }
+
+    public static class Entry {
+
+        final public long generation;
+        final public long expiresAt;
+        @Nullable
+        final public String ivSpec;
+        @Nullable
+        final public String encryptedSession;
+
+        Entry(long generation, long expiresAt, @Nullable String ivSpec, @Nullable String encryptedSession) {
+            this.generation = generation;
+            this.expiresAt = expiresAt;
+            this.ivSpec = ivSpec;
+            this.encryptedSession = encryptedSession;
+        }
+
+        public boolean hasSession() {
+            return ivSpec != null && encryptedSession != null;
+        }
+    }
+
+    final private File _directory;
+    final private File _storeFile;
+    final private File _lockFile;
+
+    // Latest generation written or read by this process.
+    private volatile long _generation = 0;
+
+    private FileObserver _observer;
+
+    public MultiProcessSessionStore(Context context) {
+        _directory = new File(context.getFilesDir(), DIRECTORY);
+        _storeFile = new File(_directory, STORE_FILE);
+        _lockFile = new File(_directory, LOCK_FILE);
+    }
+
+    /**
+     * Read the current entry.
+     *
+     * @return Current entry or null if the store is empty/unreadable.
+     */
+    @Nullable
+    public synchronized Entry read() {
+        RandomAccessFile lockFile = null;
+        FileLock lock = null;
+        try {
+            lockFile = openLock();
+            lock = lockFile.getChannel().lock();
+            final Entry entry = readEntry();
+            if (entry != null) {
+                _generation = entry.generation;
+            }
+            return entry;
+        } catch (IOException ex) {
+            GigyaLogger.error(LOG_TAG, "read: " + ex.getMessage());
+            return null;
+        } finally {
+            release(lockFile, lock);
+        }
+    }
+
+    /**
+     * Write a new entry.
+     *
+     * @param expiresAt        Absolute expiration timestamp or 0.
+     * @param ivSpec           Encoded IV (null to clear the session).
+     * @param encryptedSession Encrypted session (null to clear the session).
+     */
+    public synchronized void write(long expiresAt, @Nullable String ivSpec, @Nullable String encryptedSession) {
+        RandomAccessFile lockFile = null;
+        FileLock lock = null;
+        try {
+            lockFile = openLock();
+            lock = lockFile.getChannel().lock();
+            // Generation is resolved under the lock. Another process may have written since our last access.
+            final Entry current = readEntry();
+            final long generation = Math.max(_generation, current != null ? current.generation : 0) + 1;
+            final File temp = new File(_directory, STORE_FILE + ".tmp");
+            final Writer writer = new OutputStreamWriter(new FileOutputStream(temp), UTF_8);
+            try {
+                writer.write(generation + "\n" + expiresAt + "\n"
+                        + (ivSpec != null ? ivSpec.trim() : "") + "\n"
+                        + (encryptedSession != null ? encryptedSession : "") + "\n");
+            } finally {
+                writer.close();
+            }
+            if (!temp.renameTo(_storeFile)) {
+                throw new IOException("Unable to replace session store");
+            }
+            _generation = generation;
+        } catch (IOException ex) {
+            GigyaLogger.error(LOG_TAG, "write: " + ex.getMessage());
+        } finally {
+            release(lockFile, lock);
+        }
+    }
+
+    /**
+     * Read the current entry if it was written by another process since the last access of this process.
+     *
+     * @return Changed entry or null if unchanged/unreadable.
+     */
+    @Nullable
+    public synchronized Entry readIfChanged() {
+        // Own writes are already known once the write lock is released.
+        final long known = _generation;
+        final Entry entry = read();
+        return entry != null && entry.generation > known ? entry : null;
+    }
+
+    /**
+     * Start observing changes made by other processes.
+     */
+    public synchronized void startWatching(final ChangeListener listener) {
+        if (_observer != null) {
+            return;
+        }
+        if (!_directory.exists() && !_directory.mkdirs()) {
+            GigyaLogger.error(LOG_TAG, "startWatching: unable to create store directory");
+            return;
+        }
+        _observer = Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q
+                ? new StoreObserver(_directory, listener)
+                : new StoreObserver(_directory.getPath(), listener);
+        _observer.startWatching();
+    }
+
+    private RandomAccessFile openLock() throws IOException {
+        if (!_directory.exists() && !_directory.mkdirs()) {
+            throw new IOException("Unable to create session store directory");
+        }
+        return new RandomAccessFile(_lockFile, "rw");
+    }
+
+    @Nullable
+    private Entry readEntry() throws IOException {
+        if (!_storeFile.exists()) {
+            return null;
+        }
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(_storeFile), UTF_8));
+        try {
+            final String generation = reader.readLine();
+            final String expiresAt = reader.readLine();
+            final String ivSpec = reader.readLine();
+            final String encryptedSession = reader.readLine();
+            if (generation == null || expiresAt == null) {
+                return null;
+            }
+            return new Entry(
+                    Long.parseLong(generation),
+                    Long.parseLong(expiresAt),
+                    ivSpec == null || ivSpec.isEmpty() ? null : ivSpec,
+                    encryptedSession == null || encryptedSession.isEmpty() ? null : encryptedSession);
+        } catch (NumberFormatException ex) {
+            GigyaLogger.error(LOG_TAG, "readEntry: corrupted session store");
+            return null;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private void release(@Nullable RandomAccessFile lockFile, @Nullable FileLock lock) {
+        try {
+            if (lock != null) {
+                lock.release();
+            }
+            if (lockFile != null) {
+                lockFile.close();
+            }
+        } catch (IOException ex) {
+            // Ignore.
+        }
+    }
+
+    /**
+     * Observes the store directory. The path based constructor is deprecated as of API 29.
+     */
+    private class StoreObserver extends FileObserver {
+
+        private static final int MASK = FileObserver.MOVED_TO | FileObserver.CLOSE_WRITE;
+
+        final private ChangeListener _listener;
+
+        @RequiresApi(api = Build.VERSION_CODES.Q)
+        StoreObserver(File directory, ChangeListener listener) {
+            super(directory, MASK);
+            _listener = listener;
+        }
+
+        @SuppressWarnings("deprecation")
+        StoreObserver(String path, ChangeListener listener) {
+            super(path, MASK);
+            _listener = listener;
+        }
+
+        @Override
+        public void onEvent(int event, @Nullable String path) {
+            if (!STORE_FILE.equals(path)) {
+                return;
+            }
+            final Entry entry = readIfChanged();
+            if (entry != null) {
+                GigyaLogger.debug(LOG_TAG, "Session store changed. Generation: " + entry.generation);
+                _listener.onStoreChanged(entry);
+            }
+        }
+    }
+}
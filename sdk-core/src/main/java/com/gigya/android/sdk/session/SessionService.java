@@ -1,10 +1,7 @@
 package com.gigya.android.sdk.session;
 
-import android.annotation.SuppressLint;
 import android.content.Context;
 import android.content.Intent;
-import android.os.Build;
-import android.os.CountDownTimer;
 import android.text.TextUtils;
 import android.util.Base64;
 import android.webkit.CookieManager;
@@ -18,9 +15,10 @@ import com.gigya.android.sdk.GigyaDefinitions;
 import com.gigya.android.sdk.GigyaInterceptor;
 import com.gigya.android.sdk.GigyaLogger;
 import com.gigya.android.sdk.encryption.EncryptionException;
-import com.gigya.android.sdk.encryption.SessionKeyV2;
+import com.gigya.android.sdk.encryption.SessionCrypto;
 import com.gigya.android.sdk.persistence.IPersistenceService;
 import com.gigya.android.sdk.persistence.PersistenceService;
+import com.gigya.android.sdk.scheduler.GigyaScheduler;
 import com.gigya.android.sdk.utils.CipherUtils;
 import com.gigya.android.sdk.utils.ObjectUtils;
 import com.google.gson.Gson;
@@ -29,18 +27,39 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.security.Key;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
-import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
-import javax.crypto.spec.GCMParameterSpec;
-import javax.crypto.spec.IvParameterSpec;
 
 public class SessionService implements ISessionService {
 
     private static final String LOG_TAG = "SessionService";
 
+    /*
+    Persisted session migration version. A session saved by this version requires no migration on load.
+    1 - GCM session encryption (6.0.0) & removal of dynamic config fields from the session (5.1.1).
+    2 - Compact (Base64) session encoding.
+     */
+    private static final int SESSION_MIGRATION_VERSION = 2;
+
+    /*
+    Maximal wait time for a pending asynchronous session restore.
+     */
+    private static final long RESTORE_TIMEOUT_MS = 5000;
+
+    /*
+    Maximal wait time for pending session writes on flush.
+     */
+    private static final long FLUSH_TIMEOUT_MS = 3000;
+
     private boolean clearCookies = true;
 
     @Override
@@ -53,9 +72,26 @@ public class SessionService implements ISessionService {
     final private Config _config;
     final private IPersistenceService _psService;
     final private SessionStateHandler _observable;
+    final private SessionCrypto _crypto;
+    final private GigyaScheduler _scheduler;
 
-    // Dynamic field - session heap.
-    private SessionInfo _sessionInfo;
+    // Serial session writer. Encryption & persistence run off the caller thread in submission order.
+    final private ExecutorService _writer;
+
+    // Dynamic field - session heap. Session & expiration are published together.
+    private volatile SessionSnapshot _snapshot = SessionSnapshot.EMPTY;
+
+    // In-memory session generation. Advanced on every session update (guarded by this).
+    // A restore started before an update must not publish over it.
+    private int _generation;
+
+    // Multi process session sharing. Resolved from the loaded configuration when the session is restored.
+    private volatile boolean _multiProcess;
+
+    // Pending asynchronous session restore & the actions waiting for it (guarded by this).
+    private volatile CountDownLatch _restoreLatch;
+    private volatile Thread _restoreThread;
+    private final List<Runnable> _restoreActions = new ArrayList<>();
 
     // Injected field - session logic interceptors.
     private final ArrayMap<String, GigyaInterceptor> _sessionInterceptors = new ArrayMap<>();
@@ -63,38 +99,43 @@ public class SessionService implements ISessionService {
     public SessionService(Context context,
                           Config config,
                           IPersistenceService psService,
-                          SessionStateHandler observable) {
+                          SessionStateHandler observable,
+                          SessionCrypto crypto,
+                          GigyaScheduler scheduler) {
         _context = context;
         _psService = psService;
         _config = config;
         _observable = observable;
+        _crypto = crypto;
+        _scheduler = scheduler;
+        _writer = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                final Thread t = new Thread(runnable, "gigya-session-writer");
+                t.setDaemon(true);
+                return t;
+            }
+        });
     }
 
     /**
      * Fetch key used for session encryption/decryption.
      * Session key generation will vary according to OS level and SDK core version.
+     * The key is resolved once & cached by the session crypto component.
      *
      * @return SecretKey KeyStore generated secure key.
      */
     private SecretKey getKey() {
-        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
-            GigyaLogger.error(LOG_TAG, "SDK v7+ supports android M+ only");
-            return null;
-        }
-        return new SessionKeyV2().getKey();
+        return _crypto.getKey();
     }
 
-    @SuppressLint("GetInstance")
     @Nullable
     @Override
     public String encryptSession(String plain, Key key) throws EncryptionException {
         try {
-            final Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
-            cipher.init(Cipher.ENCRYPT_MODE, key);
-            byte[] ivSpec = cipher.getIV();
-            _psService.add(PersistenceService.PREFS_KEY_IV_SPEC_SESSION, Base64.encodeToString(ivSpec, Base64.DEFAULT));
-            byte[] byteCipherText = cipher.doFinal(plain.getBytes());
-            return CipherUtils.bytesToString(byteCipherText);
+            final SessionCrypto.Sealed sealed = _crypto.encrypt(key, plain.getBytes());
+            _psService.add(PersistenceService.PREFS_KEY_IV_SPEC_SESSION, Base64.encodeToString(sealed.iv, Base64.DEFAULT));
+            return CipherUtils.encode(sealed.cipherText);
         } catch (Exception ex) {
             ex.printStackTrace();
             throw new EncryptionException("encryptSession: exception" + ex.getMessage(), ex.getCause());
@@ -102,26 +143,25 @@ public class SessionService implements ISessionService {
     }
 
 
-    @SuppressLint({"GetInstance"})
     @Nullable
     @Override
     public String decryptSession(String encrypted, Key key) throws EncryptionException {
+        return decryptSession(encrypted, key, _psService.getString(PersistenceService.PREFS_KEY_IV_SPEC_SESSION, null));
+    }
+
+    @Nullable
+    private String decryptSession(String encrypted, Key key, @Nullable String ivSpecString) throws EncryptionException {
         try {
-            Cipher cipher;
-            String ivSpecString = _psService.getString(PersistenceService.PREFS_KEY_IV_SPEC_SESSION, null);
             if (ivSpecString == null) {
                 // Session encryption has not migrated to GCM.
                 // Old session will be decrypted using "AES/ECB" nut will no longer use this algorithm.
                 // New saved session encryption will be migrated with "AES/GCM/NoPadding".
                 GigyaLogger.error(LOG_TAG, "Session not migrated. Cannot be restored");
                 return null;
-            } else {
-                cipher = Cipher.getInstance("AES/GCM/NoPadding");
-                GCMParameterSpec ivSpec = new GCMParameterSpec(128, Base64.decode(ivSpecString, Base64.DEFAULT));
-                cipher.init(Cipher.DECRYPT_MODE, key, ivSpec);
             }
-            byte[] encPLBytes = CipherUtils.stringToBytes(encrypted);
-            byte[] bytePlainText = cipher.doFinal(encPLBytes);
+            // Legacy base 36 sessions are decoded transparently & re-saved compact by the load migration.
+            byte[] encPLBytes = CipherUtils.decode(encrypted);
+            byte[] bytePlainText = _crypto.decrypt(key, Base64.decode(ivSpecString, Base64.DEFAULT), encPLBytes);
             return new String(bytePlainText);
         } catch (Exception ex) {
             ex.printStackTrace();
@@ -139,6 +179,11 @@ public class SessionService implements ISessionService {
         final String encryptionType = _psService.getSessionEncryptionType();
         if (!encryptionType.equals(GigyaDefinitions.SessionEncryption.DEFAULT)) {
             // Saving & encrypting the session via this service is only viable for "default" session encryption.
+            final MultiProcessSessionStore store = getStore();
+            if (store != null) {
+                // Biometric sessions are not shared. Drop the shared default session.
+                store.write(0, null, null);
+            }
             return;
         }
         try {
@@ -149,19 +194,59 @@ public class SessionService implements ISessionService {
                     .put("expirationTime", sessionInfo == null ? null : sessionInfo.getExpirationTime());
             final String json = jsonObject.toString();
             final SecretKey key = getKey();
-            final String encryptedSession = encryptSession(json, key);
-            // Save session.
-            _psService.setSession(encryptedSession);
+            final SessionCrypto.Sealed sealed = _crypto.encrypt(key, json.getBytes());
+            final String ivSpec = Base64.encodeToString(sealed.iv, Base64.DEFAULT);
+            final String encryptedSession = CipherUtils.encode(sealed.cipherText);
+            // Save session, IV & format in a single commit.
+            _psService.beginTransaction();
+            try {
+                _psService.add(PersistenceService.PREFS_KEY_IV_SPEC_SESSION, ivSpec);
+                _psService.setSession(encryptedSession);
+                // Saved in the current format.
+                if (_psService.getSessionMigrationVersion() < SESSION_MIGRATION_VERSION) {
+                    _psService.setSessionMigrationVersion(SESSION_MIGRATION_VERSION);
+                }
+                _psService.commitTransaction();
+            } catch (RuntimeException ex) {
+                _psService.abortTransaction();
+                throw ex;
+            }
+            final MultiProcessSessionStore store = getStore();
+            if (store != null) {
+                final long expiresAt = sessionInfo != null && sessionInfo.getExpirationTime() > 0
+                        ? System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(sessionInfo.getExpirationTime())
+                        : _snapshot.getExpiresAt();
+                store.write(expiresAt, ivSpec, encryptedSession);
+            }
         } catch (Exception ex) {
             ex.printStackTrace();
+            // Key entry may have changed. Resolve it again on next use.
+            _crypto.invalidateKey();
         }
     }
 
     /**
      * Load current persistent session.
+     * The restored session is published only if the in-memory session was not updated meanwhile.
      */
     @Override
     public void load() {
+        _multiProcess = _config.isMultiProcessSession();
+        restore();
+    }
+
+    /**
+     * Restore the persistent session using the configuration resolved by {@link #load()}/{@link #loadAsync()}.
+     */
+    private void restore() {
+        final int generation;
+        synchronized (this) {
+            generation = _generation;
+        }
+        final MultiProcessSessionStore store = getStore();
+        if (store != null && loadFromStore(store, generation)) {
+            return;
+        }
         if (_psService.isSessionAvailable()) {
             String encryptedSession = _psService.getSession();
             if (!TextUtils.isEmpty(encryptedSession)) {
@@ -175,42 +260,178 @@ public class SessionService implements ISessionService {
                     Gson gson = new Gson();
                     // Parse session info.
                     final SessionInfo sessionInfo = gson.fromJson(decryptedSession, SessionInfo.class);
-
-                    // Added in version 5.1.1.
-                    migrateEncryptedDynamicConfig(decryptedSession, sessionInfo);
-
-                    // Added in version 6.0.0
-                    // Migrate session encryption to GCM.
-                    save(sessionInfo);
-                    _sessionInfo = sessionInfo;
+                    final SessionSnapshot restored = new SessionSnapshot(sessionInfo, _psService.getSessionExpiration());
+
+                    Runnable persist = null;
+                    if (_psService.getSessionMigrationVersion() < SESSION_MIGRATION_VERSION) {
+                        persist = new Runnable() {
+                            @Override
+                            public void run() {
+                                _psService.beginTransaction();
+                                try {
+                                    // Added in version 5.1.1.
+                                    migrateEncryptedDynamicConfig(decryptedSession);
+
+                                    // Added in version 6.0.0
+                                    // Migrate session encryption to GCM. Runs once, the migration version is updated on save.
+                                    // Migration version 2.
+                                    // Re-encode legacy base 36 sessions using the compact encoding.
+                                    save(sessionInfo);
+                                    _psService.commitTransaction();
+                                } catch (RuntimeException ex) {
+                                    _psService.abortTransaction();
+                                    throw ex;
+                                }
+                            }
+                        };
+                    } else if (store != null) {
+                        // Publish the session to the (empty) multi process store.
+                        persist = new Runnable() {
+                            @Override
+                            public void run() {
+                                save(sessionInfo);
+                            }
+                        };
+                    }
+                    publishRestored(restored, generation, persist);
                 } catch (Exception eex) {
                     eex.printStackTrace();
+                    _crypto.invalidateKey();
+                }
+            }
+        }
+    }
+
+    /**
+     * Publish a restored session.
+     * Dropped if the in-memory session was updated after the restore has started. Restore persistence is
+     * queued on the session writer under the same lock, so it is ordered before any later session write.
+     *
+     * @param restored   Restored session state.
+     * @param generation Session generation at restore start.
+     * @param persist    Optional restore persistence (migration) task.
+     * @return True if published.
+     */
+    private synchronized boolean publishRestored(SessionSnapshot restored, int generation, @Nullable Runnable persist) {
+        if (generation != _generation) {
+            GigyaLogger.debug(LOG_TAG, "publishRestored: session updated during restore. Restored session dropped");
+            return false;
+        }
+        _snapshot = restored;
+        _generation++;
+        if (persist != null) {
+            _writer.execute(persist);
+        }
+        return true;
+    }
+
+    /**
+     * Load current persistent session on a background thread.
+     * Session state queries (getSession/isValid) & session updates issued while the restore is pending wait
+     * for it to complete, so KeyStore access & decryption are kept off the calling thread.
+     */
+    @Override
+    public void loadAsync() {
+        // Resolved on the calling thread. The configuration is loaded prior to the restore.
+        _multiProcess = _config.isMultiProcessSession();
+        final CountDownLatch latch = new CountDownLatch(1);
+        synchronized (this) {
+            _restoreLatch = latch;
+        }
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    restore();
+                } finally {
+                    _restoreThread = null;
+                    completeRestore(latch);
+                    GigyaLogger.debug(LOG_TAG, "loadAsync: session restore completed");
                 }
             }
+        }, "gigya-session-restore");
+        thread.setDaemon(true);
+        _restoreThread = thread;
+        thread.start();
+    }
+
+    /**
+     * Run an action once the session is restored.
+     * Runs immediately if no restore is pending, otherwise on the restore completing thread.
+     *
+     * @param action Action to run.
+     */
+    @Override
+    public void onRestored(Runnable action) {
+        synchronized (this) {
+            if (_restoreLatch != null) {
+                _restoreActions.add(action);
+                return;
+            }
+        }
+        action.run();
+    }
+
+    /**
+     * Mark the pending restore as completed. Releases waiting queries & runs the restore actions once.
+     */
+    private void completeRestore(CountDownLatch latch) {
+        final List<Runnable> actions;
+        synchronized (this) {
+            if (_restoreLatch != latch) {
+                // Already completed.
+                return;
+            }
+            _restoreLatch = null;
+            actions = new ArrayList<>(_restoreActions);
+            _restoreActions.clear();
+        }
+        latch.countDown();
+        for (Runnable action : actions) {
+            action.run();
+        }
+    }
+
+    /**
+     * Wait for a pending asynchronous session restore.
+     * If the restore does not complete in time, the session is restored on the calling thread, so session state
+     * is never answered from a partial restore. The late restore is dropped (see {@link #publishRestored}).
+     */
+    private void awaitRestore() {
+        final CountDownLatch latch = _restoreLatch;
+        if (latch == null || Thread.currentThread() == _restoreThread) {
+            return;
+        }
+        try {
+            if (!latch.await(RESTORE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                GigyaLogger.error(LOG_TAG, "awaitRestore: session restore timed out. Restoring on the calling thread");
+                restore();
+                completeRestore(latch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
     /**
      * Added in version 5.1.1 to allow more secure id server rotation.
      * Removing config fields from session encryption if exist.
-     * If so. Moving them to preferences.
+     * If so. Moving them to preferences. The session is re-saved without them by the load migration.
+     * Runs on the session writer. Configuration is not updated here, ids are loaded from preferences by the SDK config flow.
      */
-    private void migrateEncryptedDynamicConfig(String decryptedSession, SessionInfo sessionInfo) {
+    private void migrateEncryptedDynamicConfig(String decryptedSession) {
         try {
             JSONObject jo = new JSONObject(decryptedSession);
             if (!jo.has("gmid") || !jo.has("ucid")) return;
             final String gmid = jo.optString("gmid");
+            // Part of the load migration transaction.
             if (!TextUtils.isEmpty(gmid)) {
                 _psService.setGmid(gmid);
-                _config.setGmid(gmid);
             }
             final String ucid = jo.optString("ucid");
             if (!TextUtils.isEmpty(ucid)) {
                 _psService.setUcid(ucid);
-                _config.setUcid(ucid);
             }
-            // Re-save session.
-            save(sessionInfo);
         } catch (JSONException e) {
             e.printStackTrace();
             GigyaLogger.error(LOG_TAG, "migrateEncryptedDynamicConfig failed");
@@ -224,7 +445,64 @@ public class SessionService implements ISessionService {
      */
     @Override
     public SessionInfo getSession() {
-        return _sessionInfo;
+        awaitRestore();
+        return _snapshot.getSessionInfo();
+    }
+
+    /**
+     * Get the current in-memory session state.
+     * Session validity & authentication parameters are available without accessing persistence.
+     *
+     * @return Current session snapshot (never null).
+     */
+    @Override
+    public SessionSnapshot getSnapshot() {
+        awaitRestore();
+        return _snapshot;
+    }
+
+    /**
+     * Update the session expiration timestamp.
+     * Persistence is written through only if the timestamp has changed.
+     *
+     * @param expiresAt Absolute expiration timestamp in milliseconds or 0 if none.
+     */
+    private synchronized void setSessionExpiration(final long expiresAt) {
+        final SessionSnapshot current = _snapshot;
+        if (current.getExpiresAt() == expiresAt) {
+            return;
+        }
+        _snapshot = new SessionSnapshot(current.getSessionInfo(), expiresAt);
+        _generation++;
+        _writer.execute(new Runnable() {
+            @Override
+            public void run() {
+                _psService.setSessionExpiration(expiresAt);
+            }
+        });
+    }
+
+    /**
+     * Wait for pending session writes (bounded).
+     * Blocks the calling thread for up to {@link #FLUSH_TIMEOUT_MS} (3 seconds).
+     * Do not call from lifecycle callbacks.
+     * Pending writes are normally a single encryption & preferences apply, so the wait is short in practice.
+     */
+    @Override
+    public void flush() {
+        final Future<?> barrier = _writer.submit(new Runnable() {
+            @Override
+            public void run() {
+                // Barrier. All previously submitted writes are done.
+            }
+        });
+        try {
+            barrier.get(FLUSH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            GigyaLogger.error(LOG_TAG, "flush: pending session writes not completed: " + ex.getMessage());
+        }
     }
 
     /**
@@ -235,20 +513,39 @@ public class SessionService implements ISessionService {
      * @param sessionInfo Provided session.
      */
     @Override
-    public void setSession(SessionInfo sessionInfo) {
+    public void setSession(final SessionInfo sessionInfo) {
         GigyaLogger.debug(LOG_TAG, "setSession: ");
-        _sessionInfo = sessionInfo;
-        save(sessionInfo); // Will only work for "DEFAULT" encryption.
+        // A pending restore must not override the new session.
+        awaitRestore();
+        final long willExpireIn;
+        final boolean expirationChanged;
+        synchronized (this) {
+            // Determine when the session will expire. Session without expiration keeps the current expiration timestamp.
+            final long current = _snapshot.getExpiresAt();
+            willExpireIn = sessionInfo.getExpirationTime() > 0
+                    ? System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(sessionInfo.getExpirationTime())
+                    : current;
+            expirationChanged = willExpireIn != current;
+            _snapshot = new SessionSnapshot(sessionInfo, willExpireIn);
+            _generation++;
+        }
+        _observable.onSessionSet();
+        // In-memory session is updated. Encryption & persistence are done by the session writer.
+        _writer.execute(new Runnable() {
+            @Override
+            public void run() {
+                save(sessionInfo); // Will only work for "DEFAULT" encryption.
+                // Written separately. A failed session save must not drop the expiration.
+                if (expirationChanged) {
+                    _psService.setSessionExpiration(willExpireIn);
+                }
+            }
+        });
         // Apply interceptions
         applyInterceptions();
 
         // Check session expiration.
-        if (_sessionInfo.getExpirationTime() > 0) {
-
-            // Determine when the session will expire and persist it.
-            long willExpireIn = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(_sessionInfo.getExpirationTime());
-            _psService.setSessionExpiration(willExpireIn);
-
+        if (sessionInfo.getExpirationTime() > 0) {
             // Start live countdown when the app is idle.
             startSessionCountdownTimerIfNeeded();
         }
@@ -261,32 +558,52 @@ public class SessionService implements ISessionService {
      * #2 - Session contains token and secret.
      * #3 - If session contains expiration, check if not yet expired.
      *
+     * Evaluated on the in-memory session snapshot. Persistence is not accessed.
+     *
      * @return True if session is valid.
      */
     @Override
     public boolean isValid() {
-        boolean valid = _sessionInfo != null && _sessionInfo.isValid();
-        final long willExpireIn = _psService.getSessionExpiration();
-        if (valid && willExpireIn > 0) {
-            valid = System.currentTimeMillis() < willExpireIn;
-        }
-        return valid;
+        awaitRestore();
+        return _snapshot.isValid(System.currentTimeMillis());
     }
 
     /**
      * Clear session from memory.
      *
      * @param clearStorage Set True if session should be cleared from persistence as well.
+     *                     Removal is done by the session writer, after pending session writes.
      */
     @Override
     public void clear(boolean clearStorage) {
         GigyaLogger.debug(LOG_TAG, "clear: ");
-        _sessionInfo = null;
+        awaitRestore();
+        synchronized (this) {
+            _snapshot = new SessionSnapshot(null, _snapshot.getExpiresAt());
+            _generation++;
+        }
 
         if (clearStorage) {
-            // Remove session data. Update encryption to DEFAULT.
-            _psService.removeSession();
-            _psService.setSessionEncryptionType(GigyaDefinitions.SessionEncryption.DEFAULT);
+            // Session writer is serial. Pending session writes complete before the removal.
+            final MultiProcessSessionStore store = getStore();
+            _writer.execute(new Runnable() {
+                @Override
+                public void run() {
+                    // Remove session data. Update encryption to DEFAULT.
+                    _psService.beginTransaction();
+                    try {
+                        _psService.removeSession();
+                        _psService.setSessionEncryptionType(GigyaDefinitions.SessionEncryption.DEFAULT);
+                        _psService.commitTransaction();
+                    } catch (RuntimeException ex) {
+                        _psService.abortTransaction();
+                        throw ex;
+                    }
+                    if (store != null) {
+                        store.write(0, null, null);
+                    }
+                }
+            });
         }
     }
 
@@ -322,18 +639,106 @@ public class SessionService implements ISessionService {
 
     //endregion
 
+    //region MULTI PROCESS
+
+    private MultiProcessSessionStore _store;
+
+    /**
+     * Get the multi process session store.
+     *
+     * @return Session store or null if multi process session sharing is not enabled (or the session is not yet loaded).
+     */
+    @Nullable
+    private synchronized MultiProcessSessionStore getStore() {
+        if (!_multiProcess) {
+            return null;
+        }
+        if (_store == null) {
+            _store = new MultiProcessSessionStore(_context);
+            _store.startWatching(new MultiProcessSessionStore.ChangeListener() {
+                @Override
+                public void onStoreChanged(MultiProcessSessionStore.Entry entry) {
+                    onSessionStoreChanged(entry);
+                }
+            });
+        }
+        return _store;
+    }
+
+    /**
+     * Load the session from the multi process store.
+     *
+     * @param generation Session generation at restore start.
+     * @return True if the store holds an entry (the store is authoritative).
+     */
+    private boolean loadFromStore(MultiProcessSessionStore store, int generation) {
+        final MultiProcessSessionStore.Entry entry = store.read();
+        if (entry == null) {
+            return false;
+        }
+        if (!GigyaDefinitions.SessionEncryption.DEFAULT.equals(_psService.getSessionEncryptionType())) {
+            // Biometric sessions are loaded from preferences (locked until unlocked).
+            return false;
+        }
+        if (entry.hasSession()) {
+            final SessionInfo sessionInfo = decryptStoreEntry(entry);
+            if (sessionInfo != null) {
+                publishRestored(new SessionSnapshot(sessionInfo, entry.expiresAt), generation, null);
+            }
+        }
+        return true;
+    }
+
+    @Nullable
+    private SessionInfo decryptStoreEntry(MultiProcessSessionStore.Entry entry) {
+        try {
+            final String decryptedSession = decryptSession(entry.encryptedSession, getKey(), entry.ivSpec);
+            return new Gson().fromJson(decryptedSession, SessionInfo.class);
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            _crypto.invalidateKey();
+            return null;
+        }
+    }
+
+    /**
+     * Session was updated by another process.
+     * The session is applied in memory only (no persistence writes, which would notify back).
+     */
+    private void onSessionStoreChanged(MultiProcessSessionStore.Entry entry) {
+        if (!entry.hasSession()) {
+            GigyaLogger.debug(LOG_TAG, "onSessionStoreChanged: session cleared by another process");
+            cancelSessionCountdownTimer();
+            clear(false);
+            return;
+        }
+        final SessionInfo sessionInfo = decryptStoreEntry(entry);
+        if (sessionInfo == null) {
+            return;
+        }
+        GigyaLogger.debug(LOG_TAG, "onSessionStoreChanged: session updated by another process");
+        synchronized (this) {
+            _snapshot = new SessionSnapshot(sessionInfo, entry.expiresAt);
+            _generation++;
+        }
+        _observable.onSessionSet();
+        startSessionCountdownTimerIfNeeded();
+    }
+
+    //endregion
+
     //region SESSION EXPIRATION
 
-    private CountDownTimer _sessionLifeCountdownTimer;
+    private GigyaScheduler.Task _sessionExpirationTask;
 
     /**
-     * Cancel running timer if reference is not null.
+     * Cancel the pending session expiration deadline if reference is not null.
      */
     @Override
-    public void cancelSessionCountdownTimer() {
-        if (_sessionLifeCountdownTimer != null) {
-            _sessionLifeCountdownTimer.cancel();
-            _sessionLifeCountdownTimer = null;
+    public synchronized void cancelSessionCountdownTimer() {
+        if (_sessionExpirationTask != null) {
+            _sessionExpirationTask.cancel();
+            _sessionExpirationTask = null;
         }
     }
 
@@ -350,18 +755,28 @@ public class SessionService implements ISessionService {
 
     /**
      * Refresh the current session expiration timestamp.
+     * Evaluated once the session is restored. The caller (application lifecycle callbacks) does not wait for it.
      * For internal use.
      */
     @Override
     public void refreshSessionExpiration() {
         GigyaLogger.debug(LOG_TAG, "refreshSessionExpiration: ");
+        onRestored(new Runnable() {
+            @Override
+            public void run() {
+                evaluateSessionExpiration();
+            }
+        });
+    }
+
+    private void evaluateSessionExpiration() {
         // Get session expiration if exists.
-        final long willExpireIn = _psService.getSessionExpiration();
+        final long willExpireIn = getSnapshot().getExpiresAt();
         // Check if already passed. Reset if so.
         if (willExpireIn > 0 && willExpireIn < System.currentTimeMillis()) {
 
             // Session was set to expire. Time has passed. Session needs to be invalidated.
-            _psService.setSessionExpiration(0);
+            setSessionExpiration(0);
 
             GigyaLogger.debug(LOG_TAG, "refreshSessionExpiration: Session expired. Clearing session");
             // Clear the session from heap & persistence.
@@ -374,57 +789,74 @@ public class SessionService implements ISessionService {
 
     /**
      * Check if session countdown is required. Initiate if needed.
+     * Evaluated once the session is restored. The caller does not wait for it.
      */
     @Override
     public void startSessionCountdownTimerIfNeeded() {
         GigyaLogger.debug(LOG_TAG, "startSessionCountdownTimerIfNeeded: ");
+        onRestored(new Runnable() {
+            @Override
+            public void run() {
+                evaluateSessionCountdown();
+            }
+        });
+    }
+
+    private void evaluateSessionCountdown() {
+        final SessionSnapshot snapshot = _snapshot;
         long now = System.currentTimeMillis();
-        long willExpireIn = _psService.getSessionExpiration();
+        long willExpireIn = snapshot.getExpiresAt();
         long delta = willExpireIn - now;
 
-        if (_sessionInfo == null) {
+        final SessionInfo sessionInfo = snapshot.getSessionInfo();
+        if (sessionInfo == null) {
             return;
         }
-        if (_sessionInfo.isValid() && willExpireIn > 0) {
+        if (sessionInfo.isValid() && willExpireIn > 0) {
             // Trigger session expiration countdown timer.
             startSessionCountdown(delta);
         }
     }
 
     /**
-     * Initiate session expiration countdown.
-     * When finished. A local broadcast will be triggered.
+     * Register the session expiration deadline with the SDK scheduler.
+     * When reached. A local broadcast will be triggered.
      *
-     * @param future Number of milliseconds to count down.
+     * @param future Number of milliseconds until the session expires.
      */
-    private void startSessionCountdown(long future) {
+    private synchronized void startSessionCountdown(long future) {
         GigyaLogger.debug(LOG_TAG, "startSessionCountdown: Session is set to expire in: "
                 + TimeUnit.MILLISECONDS.toSeconds(future) + " seconds");
 
-        // Cancel timer.
+        // Cancel pending deadline.
         cancelSessionCountdownTimer();
-        _sessionLifeCountdownTimer = new CountDownTimer(future, TimeUnit.SECONDS.toMillis(1)) {
+        _sessionExpirationTask = _scheduler.schedule(new Runnable() {
             @Override
-            public void onTick(long millisUntilFinished) {
-                // KEEP THIS LOG COMMENTED TO AVOID SPAMMING LOGCAT!!!!!
-                //GigyaLogger.debug(LOG_TAG, "startSessionCountdown: " + TimeUnit.MILLISECONDS.toSeconds(millisUntilFinished) + " seconds remaining until session will expire");
+            public void run() {
+                onSessionExpired();
             }
+        }, future);
+    }
 
-            @Override
-            public void onFinish() {
-                _psService.setSessionExpiration(0);
-                if (_sessionInfo != null && !_sessionInfo.isValid()) {
-                    return;
-                }
-                GigyaLogger.debug(LOG_TAG, "startSessionCountdown: Session expiration countdown done! Session is invalid");
-                // Clear the session from heap & persistence.
-                clear(true);
-                // Send "session expired" local broadcast.
-                LocalBroadcastManager.getInstance(_context).sendBroadcast(new Intent(GigyaDefinitions.Broadcasts.INTENT_ACTION_SESSION_EXPIRED));
-                // Notify session expiration observers.
-                _observable.notifySessionExpired();
-            }
-        }.start();
+    /**
+     * Session expiration deadline reached (scheduler thread).
+     */
+    private void onSessionExpired() {
+        synchronized (this) {
+            _sessionExpirationTask = null;
+        }
+        setSessionExpiration(0);
+        final SessionInfo sessionInfo = _snapshot.getSessionInfo();
+        if (sessionInfo != null && !sessionInfo.isValid()) {
+            return;
+        }
+        GigyaLogger.debug(LOG_TAG, "onSessionExpired: Session expiration deadline reached! Session is invalid");
+        // Clear the session from heap & persistence.
+        clear(true);
+        // Send "session expired" local broadcast.
+        LocalBroadcastManager.getInstance(_context).sendBroadcast(new Intent(GigyaDefinitions.Broadcasts.INTENT_ACTION_SESSION_EXPIRED));
+        // Notify session expiration observers (dispatched asynchronously).
+        _observable.notifySessionExpired();
     }
 
     //endregion
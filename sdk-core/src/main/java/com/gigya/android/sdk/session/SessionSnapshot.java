@@ -0,0 +1,66 @@
+package com.gigya.android.sdk.session;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Immutable in-memory session state.
+ * <p>
+ * Holds the session token, secret & absolute expiration timestamp so the session validity can be evaluated
+ * (request signing hot path) without accessing persistence. A new snapshot is published on every session change.
+ */
+public class SessionSnapshot {
+
+    static final SessionSnapshot EMPTY = new SessionSnapshot(null, 0);
+
+    @Nullable
+    final private SessionInfo _sessionInfo;
+    @Nullable
+    final private String _sessionToken;
+    @Nullable
+    final private String _sessionSecret;
+    final private long _expiresAt;
+
+    /**
+     * @param sessionInfo Session info (optional).
+     * @param expiresAt   Absolute expiration timestamp in milliseconds or 0 if the session does not expire.
+     */
+    public SessionSnapshot(@Nullable SessionInfo sessionInfo, long expiresAt) {
+        _sessionInfo = sessionInfo;
+        _sessionToken = sessionInfo != null ? sessionInfo.getSessionToken() : null;
+        _sessionSecret = sessionInfo != null ? sessionInfo.getSessionSecret() : null;
+        _expiresAt = expiresAt;
+    }
+
+    /**
+     * Check session validity.
+     *
+     * @param now Current timestamp in milliseconds.
+     * @return True if the session contains token & secret and is not yet expired.
+     */
+    public boolean isValid(long now) {
+        return _sessionToken != null && _sessionSecret != null && (_expiresAt <= 0 || now < _expiresAt);
+    }
+
+    //region GETTERS
+
+    @Nullable
+    public SessionInfo getSessionInfo() {
+        return _sessionInfo;
+    }
+
+    @Nullable
+    public String getSessionToken() {
+        return _sessionToken;
+    }
+
+    @Nullable
+    public String getSessionSecret() {
+        return _sessionSecret;
+    }
+
+    public long getExpiresAt() {
+        return _expiresAt;
+    }
+
+    //endregion
+}
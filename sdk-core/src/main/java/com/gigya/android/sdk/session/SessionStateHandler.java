@@ -1,26 +1,119 @@
 package com.gigya.android.sdk.session;
 
 
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
 import com.gigya.android.sdk.GigyaLogger;
 
-import java.util.ArrayList;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 
+/**
+ * Session state observers registry.
+ * <p>
+ * Observers are kept in copy-on-write lists, so registration never races with a running notification.
+ * Notifications are dispatched via the dispatch executor (main thread by default), so slow observers never stall
+ * the notifying SDK flow.
+ */
 public class SessionStateHandler {
 
     private static final String TAG = "SessionStateHandler";
 
-    private final ArrayList<SessionStateObserver> mExpirationStateObservers = new ArrayList<>();
-    private final ArrayList<SessionStateObserver> mVerificationStateObservers = new ArrayList<>();
+    public static final int EVENT_SESSION_EXPIRED = 1;
+    public static final int EVENT_SESSION_INVALIDATED = 2;
+
+    /**
+     * Session event stream observer.
+     */
+    public interface SessionEventObserver {
+
+        /**
+         * @param event Event type (EVENT_SESSION_EXPIRED or EVENT_SESSION_INVALIDATED).
+         * @param data  Event data (optional).
+         */
+        void onSessionEvent(int event, @Nullable Object data);
+    }
+
+    private final CopyOnWriteArrayList<SessionStateObserver> mExpirationStateObservers = new CopyOnWriteArrayList<>();
+    private final CopyOnWriteArrayList<SessionStateObserver> mVerificationStateObservers = new CopyOnWriteArrayList<>();
+    private final CopyOnWriteArrayList<SessionEventObserver> mEventObservers = new CopyOnWriteArrayList<>();
+
+    private volatile Executor mDispatcher;
+
+    // Latest event since the current session was set (replayed to new event observers).
+    private volatile LastEvent mLastEvent;
+
+    private static class LastEvent {
+
+        final int event;
+        final Object data;
+
+        LastEvent(int event, Object data) {
+            this.event = event;
+            this.data = data;
+        }
+    }
+
+    /**
+     * Set the notification dispatch executor.
+     *
+     * @param dispatcher Executor to dispatch notifications on. Null to restore the default (main thread).
+     */
+    public void setDispatcher(@Nullable Executor dispatcher) {
+        mDispatcher = dispatcher;
+    }
+
+    @NonNull
+    private Executor getDispatcher() {
+        Executor dispatcher = mDispatcher;
+        if (dispatcher == null) {
+            final Handler mainHandler = new Handler(Looper.getMainLooper());
+            dispatcher = new Executor() {
+                @Override
+                public void execute(@NonNull Runnable runnable) {
+                    mainHandler.post(runnable);
+                }
+            };
+            mDispatcher = dispatcher;
+        }
+        return dispatcher;
+    }
 
     public void registerExpirationObserver(SessionStateObserver observer) {
         GigyaLogger.debug(TAG, "registerExpirationObserver: " + System.identityHashCode(observer));
-        mExpirationStateObservers.add(observer);
+        mExpirationStateObservers.addIfAbsent(observer);
     }
 
     public void registerVerificationObserver(SessionStateObserver observer) {
         GigyaLogger.debug(TAG, "registerVerificationObserver: " + System.identityHashCode(observer));
 
-        mVerificationStateObservers.add(observer);
+        mVerificationStateObservers.addIfAbsent(observer);
+    }
+
+    /**
+     * Register a session event stream observer.
+     * The latest event of the current session (if any) is replayed to the observer.
+     */
+    public void registerEventObserver(final SessionEventObserver observer) {
+        GigyaLogger.debug(TAG, "registerEventObserver: " + System.identityHashCode(observer));
+        if (!mEventObservers.addIfAbsent(observer)) {
+            return;
+        }
+        final LastEvent last = mLastEvent;
+        if (last != null) {
+            getDispatcher().execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (mEventObservers.contains(observer)) {
+                        observer.onSessionEvent(last.event, last.data);
+                    }
+                }
+            });
+        }
     }
 
     public void removeExpirationObserver(SessionStateObserver observer) {
@@ -33,20 +126,48 @@ public class SessionStateHandler {
         mVerificationStateObservers.remove(observer);
     }
 
+    public void removeEventObserver(SessionEventObserver observer) {
+        GigyaLogger.debug(TAG, "removeEventObserver: " + System.identityHashCode(observer));
+        mEventObservers.remove(observer);
+    }
+
+    /**
+     * A new session was set. Previous session events are no longer replayed.
+     */
+    public void onSessionSet() {
+        mLastEvent = null;
+    }
+
     public void notifySessionExpired() {
         GigyaLogger.debug(TAG, "notifySessionExpired");
-        for (SessionStateObserver observer : mExpirationStateObservers) {
-            GigyaLogger.debug(TAG, "notifySessionExpired for : " + System.identityHashCode(observer));
-            observer.onSessionInvalidated(null);
-        }
+        dispatch(mExpirationStateObservers, EVENT_SESSION_EXPIRED, null);
     }
 
     public void notifySessionInvalidated(Object data) {
         GigyaLogger.debug(TAG, "notifySessionInvalidated");
-        for (SessionStateObserver observer : mVerificationStateObservers) {
-            GigyaLogger.debug(TAG, "notifySessionInvalidated for : " + System.identityHashCode(observer));
-            observer.onSessionInvalidated(data);
+        dispatch(mVerificationStateObservers, EVENT_SESSION_INVALIDATED, data);
+    }
+
+    private void dispatch(CopyOnWriteArrayList<SessionStateObserver> observers, final int event, final Object data) {
+        mLastEvent = new LastEvent(event, data);
+        final Executor dispatcher = getDispatcher();
+        // Iteration is over a snapshot of the observers.
+        for (final SessionStateObserver observer : observers) {
+            dispatcher.execute(new Runnable() {
+                @Override
+                public void run() {
+                    GigyaLogger.debug(TAG, "notify " + event + " for : " + System.identityHashCode(observer));
+                    observer.onSessionInvalidated(data);
+                }
+            });
+        }
+        for (final SessionEventObserver observer : mEventObservers) {
+            dispatcher.execute(new Runnable() {
+                @Override
+                public void run() {
+                    observer.onSessionEvent(event, data);
+                }
+            });
         }
     }
 }
-
@@ -12,6 +12,7 @@ import com.gigya.android.sdk.Config;
 import com.gigya.android.sdk.GigyaDefinitions;
 import com.gigya.android.sdk.GigyaInterceptor;
 import com.gigya.android.sdk.GigyaLogger;
+import com.gigya.android.sdk.account.AccountProjection;
 import com.gigya.android.sdk.account.IAccountService;
 import com.gigya.android.sdk.api.ApiService;
 import com.gigya.android.sdk.api.GigyaApiRequest;
@@ -20,6 +21,7 @@ import com.gigya.android.sdk.api.IApiRequestFactory;
 import com.gigya.android.sdk.api.IApiService;
 import com.gigya.android.sdk.network.GigyaError;
 import com.gigya.android.sdk.network.adapter.RestAdapter;
+import com.gigya.android.sdk.scheduler.GigyaScheduler;
 import com.gigya.android.sdk.ui.Presenter;
 
 import org.json.JSONException;
@@ -28,14 +30,19 @@ import org.json.JSONObject;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.TimeUnit;
 
 public class SessionVerificationService implements ISessionVerificationService {
 
     private static final String LOG_TAG = "SessionVerificationService";
 
+    /*
+    verifyLogin include values. The full payload refreshes the cached account. The lightweight payload only
+    proves the session is valid.
+     */
+    private static final String INCLUDE_FULL = "identities-all,loginIDs,profile,email,data";
+    private static final String INCLUDE_LIGHTWEIGHT = "loginIDs";
+
     final private Application _context;
     final private Config _config;
     final private ISessionService _sessionService;
@@ -43,6 +50,7 @@ public class SessionVerificationService implements ISessionVerificationService {
     final private IApiService _apiService;
     final private IApiRequestFactory _requestFactory;
     final private SessionStateHandler _observable;
+    final private GigyaScheduler _scheduler;
 
     public SessionVerificationService(Application context,
                                       Config config,
@@ -50,7 +58,8 @@ public class SessionVerificationService implements ISessionVerificationService {
                                       IAccountService accountService,
                                       IApiService apiService,
                                       IApiRequestFactory requestFactory,
-                                      SessionStateHandler observable) {
+                                      SessionStateHandler observable,
+                                      GigyaScheduler scheduler) {
         _context = context;
         _config = config;
         _sessionService = sessionService;
@@ -58,6 +67,7 @@ public class SessionVerificationService implements ISessionVerificationService {
         _apiService = apiService;
         _requestFactory = requestFactory;
         _observable = observable;
+        _scheduler = scheduler;
 
         /*
         Add a setSession interception in order to make sure that the service starts when a new
@@ -76,7 +86,14 @@ public class SessionVerificationService implements ISessionVerificationService {
 
     private long _verificationInterval;
 
-    private Timer _timer;
+    private boolean _started;
+
+    // Application is in the foreground (main thread writes, restore completion reads).
+    private volatile boolean _foreground;
+
+    private GigyaScheduler.Task _task;
+
+    final private VerificationSchedule _schedule = new VerificationSchedule();
 
     @Override
     public void updateInterval() {
@@ -103,16 +120,23 @@ public class SessionVerificationService implements ISessionVerificationService {
             public void onActivityStarted(Activity activity) {
                 if (++startedActivityReferences == 1 && !isActivityChangingConfigurations) {
                     // App enters foreground
+                    _foreground = true;
 
                     _sessionService.refreshSessionExpiration();
 
                     GigyaLogger.info(LOG_TAG, "Application lifecycle - Foreground started first activity");
-                    if (_sessionService.isValid()) {
-                        // Make sure interval is updated correctly.
-                        updateInterval();
-                        // Session verification is only relevant when user is logged in.
-                        start();
-                    }
+                    // Evaluated once the session is restored. The main thread does not wait for the restore.
+                    _sessionService.onRestored(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (_foreground && _sessionService.isValid()) {
+                                // Make sure interval is updated correctly.
+                                updateInterval();
+                                // Session verification is only relevant when user is logged in.
+                                start();
+                            }
+                        }
+                    });
                 }
             }
 
@@ -131,6 +155,7 @@ public class SessionVerificationService implements ISessionVerificationService {
                 isActivityChangingConfigurations = activity.isChangingConfigurations();
                 if (--startedActivityReferences == 0 && !isActivityChangingConfigurations) {
                     // App enters background
+                    _foreground = false;
                     GigyaLogger.info(LOG_TAG, "Application lifecycle - Background stopped first activity");
                     stop();
 
@@ -160,54 +185,120 @@ public class SessionVerificationService implements ISessionVerificationService {
             return;
         }
         GigyaLogger.debug(LOG_TAG, "start: Verification interval is " + TimeUnit.MILLISECONDS.toSeconds(_verificationInterval) + " seconds");
-        if (_timer == null) {
-            _timer = new Timer();
+        synchronized (this) {
+            if (_started) {
+                GigyaLogger.debug(LOG_TAG, "start: Verification already scheduled");
+                return;
+            }
+            _started = true;
         }
-        _timer.scheduleAtFixedRate(new TimerTask() {
-            @SuppressWarnings("unchecked") // Generic reference is irrelevant.
+        schedule(_schedule.initialDelay(_verificationInterval));
+    }
+
+    /**
+     * Schedule a single verification evaluation. Each evaluation schedules the next one.
+     */
+    private synchronized void schedule(long delay) {
+        if (!_started) {
+            // Stopped.
+            return;
+        }
+        if (_task != null) {
+            // Single pending evaluation.
+            _task.cancel();
+        }
+        _task = _scheduler.schedule(new Runnable() {
             @Override
             public void run() {
-                if (!Thread.currentThread().isInterrupted()) {
-                    GigyaLogger.debug(LOG_TAG, "dispatching verifyLogin request " + new Date().toString());
-                    final Map<String, Object> params = new HashMap<>();
-                    params.put("include", "identities-all,loginIDs,profile,email,data");
-                    final GigyaApiRequest request = _requestFactory.create(
-                            GigyaDefinitions.API.API_VERIFY_LOGIN,
-                            params,
-                            RestAdapter.HttpMethod.POST);
-                    _apiService.send(request, false, new ApiService.IApiServiceResponse() {
-                        @Override
-                        public void onApiSuccess(GigyaApiResponse response) {
-                            if (response == null) {
-                                GigyaLogger.error(LOG_TAG, "Verify login unhandled error: null response");
-                            } else {
-                                if (response.getErrorCode() == 0) {
-                                    GigyaLogger.debug(LOG_TAG, "verifyLogin success");
-                                } else {
-                                    evaluateVerifyLoginError(GigyaError.fromResponse(response));
-                                }
-                            }
-                        }
+                onVerificationDue();
+            }
+        }, Math.max(0, delay));
+    }
 
-                        @Override
-                        public void onApiError(GigyaError gigyaError) {
-                            // Ignore validation error.
-                            GigyaLogger.error(LOG_TAG, "Verify login unhandled error: " + gigyaError.toString());
+    /**
+     * Verify the session unless a recent or pending signed request already proves it is valid.
+     */
+    private void onVerificationDue() {
+        final long delay = _schedule.delayUntilDue(
+                _verificationInterval,
+                System.currentTimeMillis(),
+                _apiService.getLastSignedSuccessTimestamp(),
+                _apiService.getPendingSignedRequestCount());
+        if (delay > 0) {
+            GigyaLogger.debug(LOG_TAG, "verifyLogin not required. Next evaluation in " + delay + " ms");
+            schedule(delay);
+            return;
+        }
+        verifyLogin();
+    }
+
+    @SuppressWarnings("unchecked") // Generic reference is irrelevant.
+    private void verifyLogin() {
+        GigyaLogger.debug(LOG_TAG, "dispatching verifyLogin request " + new Date().toString());
+        final String include = _config.isSessionVerificationLightweight() ? INCLUDE_LIGHTWEIGHT : INCLUDE_FULL;
+        final Map<String, Object> params = new HashMap<>();
+        params.put("include", include);
+        final GigyaApiRequest request = _requestFactory.create(
+                GigyaDefinitions.API.API_VERIFY_LOGIN,
+                params,
+                RestAdapter.HttpMethod.POST);
+        _apiService.send(request, false, new ApiService.IApiServiceResponse() {
+            @Override
+            public void onApiSuccess(GigyaApiResponse response) {
+                if (response == null) {
+                    GigyaLogger.error(LOG_TAG, "Verify login unhandled error: null response");
+                    schedule(_schedule.nextDelay(_verificationInterval));
+                } else {
+                    if (response.getErrorCode() == 0) {
+                        GigyaLogger.debug(LOG_TAG, "verifyLogin success");
+                        _schedule.onVerified();
+                        schedule(_schedule.nextDelay(_verificationInterval));
+                        if (INCLUDE_FULL.equals(include)
+                                && _accountService.refreshAccount(response.asJson(), AccountProjection.of(include, null))) {
+                            GigyaLogger.debug(LOG_TAG, "verifyLogin: cached account refreshed");
                         }
-                    });
+                    } else if (response.getErrorCode() == GigyaError.Codes.ERROR_NETWORK) {
+                        onOffline();
+                    } else {
+                        evaluateVerifyLoginError(GigyaError.fromResponse(response));
+                    }
                 }
             }
-        }, 0, _verificationInterval);
+
+            @Override
+            public void onApiError(GigyaError gigyaError) {
+                // Ignore validation error.
+                GigyaLogger.error(LOG_TAG, "Verify login unhandled error: " + gigyaError.toString());
+                if (gigyaError.getErrorCode() == GigyaError.Codes.ERROR_NETWORK) {
+                    onOffline();
+                } else {
+                    schedule(_schedule.nextDelay(_verificationInterval));
+                }
+            }
+        });
+    }
+
+    /**
+     * Back off while offline.
+     */
+    private void onOffline() {
+        _schedule.onOffline();
+        final long delay = _schedule.nextDelay(_verificationInterval);
+        GigyaLogger.debug(LOG_TAG, "verifyLogin offline. Next verification in " + delay + " ms");
+        schedule(delay);
     }
 
     @Override
     public void stop() {
         GigyaLogger.debug(LOG_TAG, "stop: ");
-        if (_timer != null) {
-            _timer.cancel();
-            _timer.purge();
-            _timer = null;
+        synchronized (this) {
+            _started = false;
+            if (_task != null) {
+                _task.cancel();
+                _task = null;
+            }
         }
+        _schedule.reset();
         System.gc();
     }
 
@@ -257,9 +348,9 @@ public class SessionVerificationService implements ISessionVerificationService {
 
         logout();
 
-        // Clear current session & cached account.
+        // Clear current session & cached accounts.
         _sessionService.clear(true);
-        _accountService.invalidateAccount();
+        _accountService.invalidateAccounts();
 
         String regToken = null;
         JSONObject jo = null;
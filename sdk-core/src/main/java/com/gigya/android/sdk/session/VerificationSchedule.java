@@ -0,0 +1,89 @@
+package com.gigya.android.sdk.session;
+
+import java.util.Random;
+
+/**
+ * Session verification scheduling policy.
+ * <p>
+ * Verification is due once a full interval passed without a successful signed request, as any successful signed
+ * request already proves the session is valid. Verification is deferred while signed requests are in flight, backs
+ * off exponentially while offline and every delay is jittered so devices do not verify in lock step.
+ */
+public class VerificationSchedule {
+
+    /*
+    Jitter ratio applied to scheduled delays.
+     */
+    static final double JITTER = 0.1;
+
+    /*
+    Re-evaluation delay while signed requests are in flight.
+     */
+    static final long PENDING_DELAY_MS = 5000;
+
+    /*
+    Maximal offline backoff (interval multiplied by 2^MAX_BACKOFF_SHIFT).
+     */
+    static final int MAX_BACKOFF_SHIFT = 4;
+
+    final private Random _random;
+    private int _offlineFailures = 0;
+
+    public VerificationSchedule() {
+        this(new Random());
+    }
+
+    public VerificationSchedule(Random random) {
+        _random = random;
+    }
+
+    /**
+     * Get the delay of the first verification.
+     */
+    public long initialDelay(long interval) {
+        return (long) (_random.nextDouble() * JITTER * interval);
+    }
+
+    /**
+     * Evaluate whether verification is due.
+     *
+     * @param interval              Verification interval in milliseconds.
+     * @param now                   Current timestamp.
+     * @param lastSignedSuccess     Timestamp of the last successful signed request (0 if none).
+     * @param pendingSignedRequests Number of signed requests in flight.
+     * @return 0 if verification is due, otherwise the delay until it should be evaluated again.
+     */
+    public long delayUntilDue(long interval, long now, long lastSignedSuccess, int pendingSignedRequests) {
+        final long elapsed = now - lastSignedSuccess;
+        if (lastSignedSuccess > 0 && elapsed >= 0 && elapsed < interval) {
+            return jitter(interval - elapsed);
+        }
+        if (pendingSignedRequests > 0) {
+            return Math.min(PENDING_DELAY_MS, interval);
+        }
+        return 0;
+    }
+
+    /**
+     * Get the delay of the next verification following a completed verification.
+     */
+    public long nextDelay(long interval) {
+        return jitter(interval << Math.min(_offlineFailures, MAX_BACKOFF_SHIFT));
+    }
+
+    public synchronized void onVerified() {
+        _offlineFailures = 0;
+    }
+
+    public synchronized void onOffline() {
+        _offlineFailures++;
+    }
+
+    public synchronized void reset() {
+        _offlineFailures = 0;
+    }
+
+    private long jitter(long delay) {
+        return delay + (long) ((_random.nextDouble() * 2 - 1) * JITTER * delay);
+    }
+}
@@ -304,9 +304,10 @@ public class GigyaWebBridge<A extends GigyaAccount> implements IGigyaWebBridge<A
                     public void onSuccess(GigyaApiResponse response) {
                         if (response.getErrorCode() == 0) {
                             // Check if generic send was a login/register request.
-                            if (response.containsNested("sessionInfo.sessionSecret")) {
+                            final Map<String, Object> sessionFields = response.getFields("sessionInfo.sessionSecret", "sessionInfo");
+                            if (sessionFields.get("sessionInfo.sessionSecret") != null) {
                                 A parsed = response.parseAccountTo(_accountService.getAccountSchema());
-                                final SessionInfo newSession = response.getField("sessionInfo", SessionInfo.class);
+                                final SessionInfo newSession = response.convertField(sessionFields.get("sessionInfo"), SessionInfo.class);
                                 _sessionService.setSession(newSession);
                                 _accountService.setAccount(response.asJson());
                                 if (_invocationCallback != null) {
@@ -0,0 +1,116 @@
+package com.gigya.android.sdk.utils;
+
+import com.gigya.android.sdk.account.models.Certification;
+import com.gigya.android.sdk.account.models.Education;
+import com.gigya.android.sdk.account.models.Favorites;
+import com.gigya.android.sdk.account.models.Like;
+import com.gigya.android.sdk.account.models.Patent;
+import com.gigya.android.sdk.account.models.Phone;
+import com.gigya.android.sdk.account.models.Profile;
+import com.gigya.android.sdk.account.models.Publication;
+import com.gigya.android.sdk.account.models.Skill;
+import com.gigya.android.sdk.account.models.Work;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Account GSON type adapter factory.
+ * <p>
+ * Specific profile fields can return from the server as objects or as array of objects.
+ * The factory handles these lists while the tokens are streamed into the model, so the account
+ * tree is never materialized or copied. It applies to the base GigyaAccount model and to any application
+ * provided subclass. The factory is bound to a single shared GSON instance, so the model adapters are
+ * resolved only once per account class instead of on every parse.
+ * <p>
+ * The base {@link Profile} model is parsed by a handwritten adapter ({@link ProfileTypeAdapter}).
+ * GigyaAccount, application provided subclasses & the small nested models still use GSON reflective adapters.
+ */
+public class AccountTypeAdapterFactory implements TypeAdapterFactory {
+
+    /*
+    Profile list element types that may be returned as a single object.
+     */
+    private static final Set<Class<?>> OBJECT_OR_ARRAY_TYPES = new HashSet<Class<?>>(Arrays.<Class<?>>asList(
+            Certification.class,
+            Education.class,
+            Favorites.class,
+            Like.class,
+            Patent.class,
+            Phone.class,
+            Publication.class,
+            Skill.class,
+            Work.class
+    ));
+
+    private static volatile Gson ACCOUNT_GSON;
+
+    /**
+     * Get the shared account GSON instance.
+     * GSON instances are thread safe and cache their resolved type adapters.
+     *
+     * @return Shared GSON instance with account support.
+     */
+    public static Gson getGson() {
+        if (ACCOUNT_GSON == null) {
+            synchronized (AccountTypeAdapterFactory.class) {
+                if (ACCOUNT_GSON == null) {
+                    ACCOUNT_GSON = new GsonBuilder()
+                            .registerTypeAdapterFactory(new AccountTypeAdapterFactory())
+                            .create();
+                }
+            }
+        }
+        return ACCOUNT_GSON;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() == Profile.class) {
+            // Exact type only. Application provided Profile subclasses are parsed reflectively.
+            return (TypeAdapter<T>) new ProfileTypeAdapter(gson);
+        }
+        if (!List.class.isAssignableFrom(type.getRawType()) || !(type.getType() instanceof ParameterizedType)) {
+            return null;
+        }
+        final Type elementType = ((ParameterizedType) type.getType()).getActualTypeArguments()[0];
+        if (!OBJECT_OR_ARRAY_TYPES.contains(TypeToken.get(elementType).getRawType())) {
+            return null;
+        }
+        final TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+        final TypeAdapter<Object> elementAdapter = (TypeAdapter<Object>) gson.getAdapter(TypeToken.get(elementType));
+        return new TypeAdapter<T>() {
+
+            @Override
+            public void write(JsonWriter out, T value) throws IOException {
+                delegate.write(out, value);
+            }
+
+            @Override
+            public T read(JsonReader in) throws IOException {
+                if (in.peek() != JsonToken.BEGIN_OBJECT) {
+                    return delegate.read(in);
+                }
+                // Single object response. Wrap as a list as declared on the base schema object.
+                final List<Object> list = new ArrayList<>();
+                list.add(elementAdapter.read(in));
+                return (T) list;
+            }
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package com.gigya.android.sdk.utils;
 
 import android.annotation.SuppressLint;
+import android.util.Base64;
 
 import com.gigya.android.sdk.GigyaLogger;
 import com.gigya.android.sdk.encryption.EncryptionException;
@@ -16,6 +17,40 @@ import javax.crypto.SecretKey;
 
 public class CipherUtils {
 
+    /*
+    Compact encoding version prefix. Not part of the legacy base 36 alphabet.
+     */
+    static final String COMPACT_PREFIX = "b64:";
+
+    /**
+     * Encode bytes using the versioned compact (Base64) encoding.
+     * Linear time & ~14% smaller than the legacy base 36 encoding.
+     */
+    public static String encode(byte[] b) {
+        return COMPACT_PREFIX + Base64.encodeToString(b, Base64.NO_WRAP);
+    }
+
+    /**
+     * Decode bytes encoded by {@link #encode(byte[])}.
+     * Legacy base 36 values (see {@link #bytesToString(byte[])}) are decoded transparently.
+     */
+    public static byte[] decode(String s) {
+        if (isCompact(s)) {
+            return Base64.decode(s.substring(COMPACT_PREFIX.length()), Base64.NO_WRAP);
+        }
+        return stringToBytes(s);
+    }
+
+    /**
+     * Check if the given value is encoded using the compact encoding.
+     */
+    public static boolean isCompact(String s) {
+        return s != null && s.startsWith(COMPACT_PREFIX);
+    }
+
+    /**
+     * Legacy base 36 encoding. Quadratic in input size, use {@link #encode(byte[])}.
+     */
     public static String bytesToString(byte[] b) {
         byte[] b2 = new byte[b.length + 1];
         b2[0] = 1;
@@ -23,6 +58,9 @@ public class CipherUtils {
         return new BigInteger(b2).toString(36);
     }
 
+    /**
+     * Legacy base 36 decoding. Use {@link #decode(String)}.
+     */
     public static byte[] stringToBytes(String s) {
         byte[] b2 = new BigInteger(s, 36).toByteArray();
         return Arrays.copyOfRange(b2, 1, b2.length);
@@ -0,0 +1,90 @@
+package com.gigya.android.sdk.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact JSON representation.
+ * <p>
+ * Holds a JSON String as deflated UTF-8 bytes. Used to keep large payload fragments in memory
+ * at a fraction of their String size. The JSON is decoded on demand.
+ */
+public class CompactJson {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    final private byte[] _compact;
+    final private int _length;
+
+    private CompactJson(byte[] compact, int length) {
+        _compact = compact;
+        _length = length;
+    }
+
+    /**
+     * Encode JSON String to its compact representation.
+     *
+     * @param json JSON String.
+     * @return Compact instance.
+     */
+    public static CompactJson encode(String json) {
+        final byte[] raw = json.getBytes(UTF_8);
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            final byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                final int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+            return new CompactJson(out.toByteArray(), raw.length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Decode the compact representation back to its JSON String.
+     *
+     * @return JSON String.
+     */
+    public String decode() {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(_compact);
+            final byte[] raw = new byte[_length];
+            int offset = 0;
+            while (offset < _length && !inflater.finished()) {
+                final int count = inflater.inflate(raw, offset, _length - offset);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                offset += count;
+            }
+            return new String(raw, 0, offset, UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Compact JSON corrupted", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Get compact representation size in bytes.
+     */
+    public int getCompactSize() {
+        return _compact.length;
+    }
+
+    /**
+     * Get the original UTF-8 JSON size in bytes.
+     */
+    public int getLength() {
+        return _length;
+    }
+}
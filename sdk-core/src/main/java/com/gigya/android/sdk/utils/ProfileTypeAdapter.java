@@ -0,0 +1,353 @@
+package com.gigya.android.sdk.utils;
+
+import com.gigya.android.sdk.account.models.Certification;
+import com.gigya.android.sdk.account.models.Education;
+import com.gigya.android.sdk.account.models.Favorites;
+import com.gigya.android.sdk.account.models.Like;
+import com.gigya.android.sdk.account.models.Location;
+import com.gigya.android.sdk.account.models.OidcData;
+import com.gigya.android.sdk.account.models.Patent;
+import com.gigya.android.sdk.account.models.Phone;
+import com.gigya.android.sdk.account.models.Profile;
+import com.gigya.android.sdk.account.models.Publication;
+import com.gigya.android.sdk.account.models.Skill;
+import com.gigya.android.sdk.account.models.Work;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Handwritten {@link Profile} type adapter.
+ * <p>
+ * Profile is the largest model of the base account scheme. Its fields are read and written directly through the
+ * model accessors instead of reflective field access. Nested models & profile lists are delegated to the account
+ * GSON instance (lists are normalized by {@link AccountTypeAdapterFactory}). Unknown fields are skipped.
+ */
+class ProfileTypeAdapter extends TypeAdapter<Profile> {
+
+    final private TypeAdapter<String> _string;
+    final private TypeAdapter<Integer> _integer;
+    final private TypeAdapter<List<Certification>> _certificationList;
+    final private TypeAdapter<List<Education>> _educationList;
+    final private TypeAdapter<List<Favorites>> _favoritesList;
+    final private TypeAdapter<Long> _long;
+    final private TypeAdapter<Location> _location;
+    final private TypeAdapter<List<Like>> _likeList;
+    final private TypeAdapter<OidcData> _oidcData;
+    final private TypeAdapter<List<Patent>> _patentList;
+    final private TypeAdapter<List<Phone>> _phoneList;
+    final private TypeAdapter<List<Publication>> _publicationList;
+    final private TypeAdapter<List<Skill>> _skillList;
+    final private TypeAdapter<List<Work>> _workList;
+
+    ProfileTypeAdapter(Gson gson) {
+        _string = gson.getAdapter(String.class);
+        _integer = gson.getAdapter(Integer.class);
+        _certificationList = gson.getAdapter(new TypeToken<List<Certification>>() {
+        });
+        _educationList = gson.getAdapter(new TypeToken<List<Education>>() {
+        });
+        _favoritesList = gson.getAdapter(new TypeToken<List<Favorites>>() {
+        });
+        _long = gson.getAdapter(Long.class);
+        _location = gson.getAdapter(Location.class);
+        _likeList = gson.getAdapter(new TypeToken<List<Like>>() {
+        });
+        _oidcData = gson.getAdapter(OidcData.class);
+        _patentList = gson.getAdapter(new TypeToken<List<Patent>>() {
+        });
+        _phoneList = gson.getAdapter(new TypeToken<List<Phone>>() {
+        });
+        _publicationList = gson.getAdapter(new TypeToken<List<Publication>>() {
+        });
+        _skillList = gson.getAdapter(new TypeToken<List<Skill>>() {
+        });
+        _workList = gson.getAdapter(new TypeToken<List<Work>>() {
+        });
+    }
+
+    @Override
+    public void write(JsonWriter out, Profile value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("activities");
+        _string.write(out, value.getActivities());
+        out.name("address");
+        _string.write(out, value.getAddress());
+        out.name("age");
+        _integer.write(out, value.getAge());
+        out.name("bio");
+        _string.write(out, value.getBio());
+        out.name("birthDay");
+        _integer.write(out, value.getBirthDay());
+        out.name("birthMonth");
+        _integer.write(out, value.getBirthMonth());
+        out.name("birthYear");
+        _integer.write(out, value.getBirthYear());
+        out.name("certifications");
+        _certificationList.write(out, value.getCertifications());
+        out.name("city");
+        _string.write(out, value.getCity());
+        out.name("country");
+        _string.write(out, value.getCountry());
+        out.name("education");
+        _educationList.write(out, value.getEducation());
+        out.name("educationLevel");
+        _string.write(out, value.getEducationLevel());
+        out.name("email");
+        _string.write(out, value.getEmail());
+        out.name("favorites");
+        _favoritesList.write(out, value.getFavorites());
+        out.name("firstName");
+        _string.write(out, value.getFirstName());
+        out.name("followersCounts");
+        _long.write(out, value.getFollowersCounts());
+        out.name("followingCount");
+        _long.write(out, value.getFollowingCount());
+        out.name("gender");
+        _string.write(out, value.getGender());
+        out.name("hometown");
+        _string.write(out, value.getHometown());
+        out.name("honors");
+        _string.write(out, value.getHonors());
+        out.name("industry");
+        _string.write(out, value.getIndustry());
+        out.name("interestedIn");
+        _string.write(out, value.getInterestedIn());
+        out.name("interests");
+        _string.write(out, value.getInterests());
+        out.name("languages");
+        _string.write(out, value.getLanguages());
+        out.name("lastLoginLocation");
+        _location.write(out, value.getLastLoginLocation());
+        out.name("lastName");
+        _string.write(out, value.getLastName());
+        out.name("likes");
+        _likeList.write(out, value.getLikes());
+        out.name("locale");
+        _string.write(out, value.getLocale());
+        out.name("name");
+        _string.write(out, value.getName());
+        out.name("nickname");
+        _string.write(out, value.getNickname());
+        out.name("oidcData");
+        _oidcData.write(out, value.getOidcData());
+        out.name("patents");
+        _patentList.write(out, value.getPatents());
+        out.name("phones");
+        _phoneList.write(out, value.getPhones());
+        out.name("photoURL");
+        _string.write(out, value.getPhotoURL());
+        out.name("politicalView");
+        _string.write(out, value.getPoliticalView());
+        out.name("professionalHeadline");
+        _string.write(out, value.getProfessionalHeadline());
+        out.name("profileURL");
+        _string.write(out, value.getProfileURL());
+        out.name("proxyEmail");
+        _string.write(out, value.getProxyEmail());
+        out.name("publications");
+        _publicationList.write(out, value.getPublications());
+        out.name("relationshipStatus");
+        _string.write(out, value.getRelationshipStatus());
+        out.name("religion");
+        _string.write(out, value.getReligion());
+        out.name("skills");
+        _skillList.write(out, value.getSkills());
+        out.name("specialities");
+        _string.write(out, value.getSpecialities());
+        out.name("state");
+        _string.write(out, value.getState());
+        out.name("thumbnailURL");
+        _string.write(out, value.getThumbnailURL());
+        out.name("timezone");
+        _string.write(out, value.getTimezone());
+        out.name("username");
+        _string.write(out, value.getUsername());
+        out.name("verified");
+        _string.write(out, value.getVerified());
+        out.name("work");
+        _workList.write(out, value.getWork());
+        out.name("zip");
+        _string.write(out, value.getZip());
+        out.endObject();
+    }
+
+    @Override
+    public Profile read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        final Profile profile = new Profile();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "activities":
+                    profile.setActivities(_string.read(in));
+                    break;
+                case "address":
+                    profile.setAddress(_string.read(in));
+                    break;
+                case "age":
+                    profile.setAge(_integer.read(in));
+                    break;
+                case "bio":
+                    profile.setBio(_string.read(in));
+                    break;
+                case "birthDay":
+                    profile.setBirthDay(_integer.read(in));
+                    break;
+                case "birthMonth":
+                    profile.setBirthMonth(_integer.read(in));
+                    break;
+                case "birthYear":
+                    profile.setBirthYear(_integer.read(in));
+                    break;
+                case "certifications":
+                    profile.setCertifications(_certificationList.read(in));
+                    break;
+                case "city":
+                    profile.setCity(_string.read(in));
+                    break;
+                case "country":
+                    profile.setCountry(_string.read(in));
+                    break;
+                case "education":
+                    profile.setEducation(_educationList.read(in));
+                    break;
+                case "educationLevel":
+                    profile.setEducationLevel(_string.read(in));
+                    break;
+                case "email":
+                    profile.setEmail(_string.read(in));
+                    break;
+                case "favorites":
+                    profile.setFavorites(_favoritesList.read(in));
+                    break;
+                case "firstName":
+                    profile.setFirstName(_string.read(in));
+                    break;
+                case "followersCounts":
+                    profile.setFollowersCounts(_long.read(in));
+                    break;
+                case "followingCount":
+                    profile.setFollowingCount(_long.read(in));
+                    break;
+                case "gender":
+                    profile.setGender(_string.read(in));
+                    break;
+                case "hometown":
+                    profile.setHometown(_string.read(in));
+                    break;
+                case "honors":
+                    profile.setHonors(_string.read(in));
+                    break;
+                case "industry":
+                    profile.setIndustry(_string.read(in));
+                    break;
+                case "interestedIn":
+                    profile.setInterestedIn(_string.read(in));
+                    break;
+                case "interests":
+                    profile.setInterests(_string.read(in));
+                    break;
+                case "languages":
+                    profile.setLanguages(_string.read(in));
+                    break;
+                case "lastLoginLocation":
+                    profile.setLastLoginLocation(_location.read(in));
+                    break;
+                case "lastName":
+                    profile.setLastName(_string.read(in));
+                    break;
+                case "likes":
+                    profile.setLikes(_likeList.read(in));
+                    break;
+                case "locale":
+                    profile.setLocale(_string.read(in));
+                    break;
+                case "name":
+                    profile.setName(_string.read(in));
+                    break;
+                case "nickname":
+                    profile.setNickname(_string.read(in));
+                    break;
+                case "oidcData":
+                    profile.setOidcData(_oidcData.read(in));
+                    break;
+                case "patents":
+                    profile.setPatents(_patentList.read(in));
+                    break;
+                case "phones":
+                    profile.setPhones(_phoneList.read(in));
+                    break;
+                case "photoURL":
+                    profile.setPhotoURL(_string.read(in));
+                    break;
+                case "politicalView":
+                    profile.setPoliticalView(_string.read(in));
+                    break;
+                case "professionalHeadline":
+                    profile.setProfessionalHeadline(_string.read(in));
+                    break;
+                case "profileURL":
+                    profile.setProfileURL(_string.read(in));
+                    break;
+                case "proxyEmail":
+                    profile.setProxyEmail(_string.read(in));
+                    break;
+                case "publications":
+                    profile.setPublications(_publicationList.read(in));
+                    break;
+                case "relationshipStatus":
+                    profile.setRelationshipStatus(_string.read(in));
+                    break;
+                case "religion":
+                    profile.setReligion(_string.read(in));
+                    break;
+                case "skills":
+                    profile.setSkills(_skillList.read(in));
+                    break;
+                case "specialities":
+                    profile.setSpecialities(_string.read(in));
+                    break;
+                case "state":
+                    profile.setState(_string.read(in));
+                    break;
+                case "thumbnailURL":
+                    profile.setThumbnailURL(_string.read(in));
+                    break;
+                case "timezone":
+                    profile.setTimezone(_string.read(in));
+                    break;
+                case "username":
+                    profile.setUsername(_string.read(in));
+                    break;
+                case "verified":
+                    profile.setVerified(_string.read(in));
+                    break;
+                case "work":
+                    profile.setWork(_workList.read(in));
+                    break;
+                case "zip":
+                    profile.setZip(_string.read(in));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return profile;
+    }
+}
@@ -0,0 +1,53 @@
+package com.gigya.android.account;
+
+import com.gigya.android.sdk.account.AccountLruCache;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class AccountLruCacheTest {
+
+    private static final long VALID = Long.MAX_VALUE;
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        // Arrange
+        final AccountLruCache<String> cache = new AccountLruCache<>(2, 0);
+        cache.put("a", "A", 10, VALID);
+        cache.put("b", "B", 10, VALID);
+        // Act
+        cache.get("a");
+        cache.put("c", "C", 10, VALID);
+        // Assert
+        assertEquals(2, cache.size());
+        assertEquals("A", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("C", cache.get("c"));
+    }
+
+    @Test
+    public void testMemoryBudget() {
+        // Arrange
+        final AccountLruCache<String> cache = new AccountLruCache<>(10, 100);
+        cache.put("a", "A", 60, VALID);
+        // Act
+        cache.put("b", "B", 60, VALID);
+        // Assert
+        assertNull(cache.get("a"));
+        assertEquals("B", cache.get("b"));
+        assertFalse(cache.put("c", "C", 101, VALID));
+    }
+
+    @Test
+    public void testExpiredEntry() {
+        // Arrange
+        final AccountLruCache<String> cache = new AccountLruCache<>(2, 0);
+        cache.put("a", "A", 10, System.currentTimeMillis() - 1);
+        // Act & Assert
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,42 @@
+package com.gigya.android.account;
+
+import com.gigya.android.sdk.account.AccountProjection;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AccountProjectionTest {
+
+    @Test
+    public void testResolveDefaults() {
+        // Act
+        final AccountProjection projection = AccountProjection.resolve(null, null, null);
+        // Assert
+        assertEquals("include=[data, profile], extraProfileFields=[]", projection.toString());
+    }
+
+    @Test
+    public void testMissing() {
+        // Arrange
+        final AccountProjection cached = AccountProjection.of("profile,data,identities-all", null);
+        final Map<String, Object> params = new HashMap<String, Object>() {{
+            put("include", "profile, identities-active,emails");
+            put("extraProfileFields", "languages");
+        }};
+        // Act
+        final AccountProjection missing = cached.missing(AccountProjection.resolve(params, null, null));
+        // Assert
+        assertEquals("include=[emails, profile], extraProfileFields=[languages]", missing.toString());
+        final Map<String, Object> applied = missing.applyTo(params);
+        assertEquals("emails,profile", applied.get("include"));
+        assertEquals("languages", applied.get("extraProfileFields"));
+        assertTrue(cached.union(missing).missing(AccountProjection.resolve(params, null, null)).isEmpty());
+        assertFalse(missing.isEmpty());
+    }
+}
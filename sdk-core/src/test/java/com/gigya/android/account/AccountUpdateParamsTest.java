@@ -0,0 +1,61 @@
+package com.gigya.android.account;
+
+import com.gigya.android.sdk.account.AccountUpdateParams;
+import com.gigya.android.sdk.utils.ObjectUtils;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AccountUpdateParamsTest {
+
+    @Test
+    public void testIsMergeable() {
+        // Arrange
+        final Map<String, Object> plain = new HashMap<String, Object>() {{
+            put("UID", "uid");
+            put("profile", "{\"firstName\":\"Tal\"}");
+        }};
+        final Map<String, Object> sideEffect = new HashMap<String, Object>() {{
+            put("UID", "uid");
+            put("newPassword", "password");
+        }};
+        // Assert
+        assertTrue(AccountUpdateParams.isMergeable(plain));
+        assertFalse(AccountUpdateParams.isMergeable(sideEffect));
+        assertFalse(AccountUpdateParams.isMergeable(null));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testCoalesce() throws Exception {
+        // Arrange
+        final Map<String, Object> pending = new HashMap<String, Object>() {{
+            put("UID", "uid");
+            put("profile", "{\"firstName\":\"Tal\",\"address\":{\"city\":\"A\"}}");
+            put("isActive", true);
+        }};
+        final Map<String, Object> next = new HashMap<String, Object>() {{
+            put("UID", "uid");
+            put("profile", "{\"lastName\":\"Chipopo\",\"address\":{\"zip\":\"1\"}}");
+            put("isActive", false);
+        }};
+        // Act
+        final Map<String, Object> coalesced = AccountUpdateParams.coalesce(pending, next);
+        // Assert
+        assertEquals(3, coalesced.size());
+        assertEquals(false, coalesced.get("isActive"));
+        final Map<String, Object> profile = ObjectUtils.toMap(new JSONObject((String) coalesced.get("profile")));
+        assertEquals("Tal", profile.get("firstName"));
+        assertEquals("Chipopo", profile.get("lastName"));
+        final Map<String, Object> address = (Map<String, Object>) profile.get("address");
+        assertEquals("A", address.get("city"));
+        assertEquals("1", address.get("zip"));
+    }
+}
@@ -3,9 +3,13 @@ package com.gigya.android.account;
 import com.gigya.android.BaseGigyaTest;
 import com.gigya.android.StaticMockFactory;
 import com.gigya.android.sdk.Config;
+import com.gigya.android.sdk.account.AccountChangeObserver;
+import com.gigya.android.sdk.account.AccountProjection;
 import com.gigya.android.sdk.account.GigyaAccountClass;
 import com.gigya.android.sdk.account.accountCacheService;
 import com.gigya.android.sdk.account.models.GigyaAccount;
+import com.gigya.android.sdk.encryption.SessionCrypto;
+import com.gigya.android.sdk.persistence.IPersistenceService;
 import com.gigya.android.sdk.utils.ObjectUtils;
 
 import org.json.JSONObject;
@@ -13,15 +17,29 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertFalse;
 import static junit.framework.TestCase.assertNotNull;
 import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.when;
 
 @SuppressWarnings("ConstantConditions")
@@ -31,12 +49,15 @@ public class accountCacheServiceTest extends BaseGigyaTest {
     @Mock
     private Config mConfig;
 
+    @Mock
+    private IPersistenceService mPersistenceService;
+
     private accountCacheService cAccountCacheService;
 
     @Before
     public void setup() {
         when(mConfig.getAccountCacheTime()).thenReturn(5);
-        cAccountCacheService = new accountCacheService(mConfig, GigyaAccountClass.Default);
+        cAccountCacheService = new accountCacheService(mConfig, mPersistenceService, new SessionCrypto(), GigyaAccountClass.Default);
     }
 
     @SuppressWarnings("unchecked")
@@ -133,4 +154,288 @@ public class accountCacheServiceTest extends BaseGigyaTest {
         assertNotNull(map2);
     }
 
+    @Test
+    public void testCalculateDiffAgainstCachedAccount() throws Exception {
+        // Arrange
+        cAccountCacheService.setAccount(StaticMockFactory.getMockAccountJson());
+        final GigyaAccount updateAccount = cAccountCacheService.getAccount();
+        updateAccount.getProfile().setLastName("Chipopo");
+        // Act
+        final Map map = cAccountCacheService.calculateDiff(updateAccount);
+        // Assert
+        assertEquals(2, map.size());
+        assertEquals(updateAccount.getUID(), map.get("UID"));
+        final Map<String, Object> profile = ObjectUtils.toMap(new JSONObject((String) map.get("profile")));
+        assertEquals(1, profile.size());
+        assertEquals("Chipopo", (String) profile.get("lastName"));
+    }
+
+    @Test
+    public void testRecentAccountWithPayloadBudget() {
+        // Arrange
+        when(mConfig.getAccountPayloadBudget()).thenReturn(1);
+        when(mConfig.getMultiAccountCacheSize()).thenReturn(2);
+        final StringBuilder firstName = new StringBuilder();
+        for (int i = 0; i < 8 * 1024; i++) {
+            firstName.append('a');
+        }
+        final String json = "{\"UID\": \"uid\", \"profile\": {\"firstName\": \"" + firstName + "\", \"lastName\": \"Last\"}, \"isActive\": true}";
+        // Act
+        cAccountCacheService.setAccount(json);
+        // Assert - current account is kept parsed.
+        assertEquals(firstName.toString(), cAccountCacheService.getAccount().getProfile().getFirstName());
+        // Act - account becomes a (compacted) recently used account.
+        cAccountCacheService.setAccount("{\"UID\": \"otherUID\"}");
+        final GigyaAccount recentAccount = cAccountCacheService.getCachedAccount("uid");
+        // Assert
+        assertNotNull(recentAccount);
+        assertEquals("uid", recentAccount.getUID());
+        assertTrue(recentAccount.isActive());
+        assertEquals(firstName.toString(), recentAccount.getProfile().getFirstName());
+        assertEquals("Last", recentAccount.getProfile().getLastName());
+    }
+
+    @Test
+    public void testCalculateDiffBaselineIsolatedFromCopies() throws Exception {
+        // Arrange
+        cAccountCacheService.setAccount(StaticMockFactory.getMockAccountJson());
+        final GigyaAccount copy = cAccountCacheService.getAccount();
+        final String lastName = copy.getProfile().getLastName();
+        // Act - a copy is modified before the diff is first computed.
+        copy.getProfile().setLastName("Chipopo");
+        final Map map = cAccountCacheService.calculateDiff(copy);
+        // Assert
+        assertNotSame(copy, cAccountCacheService.getAccount());
+        assertEquals(lastName, cAccountCacheService.getAccount().getProfile().getLastName());
+        final Map<String, Object> profile = ObjectUtils.toMap(new JSONObject((String) map.get("profile")));
+        assertEquals("Chipopo", (String) profile.get("lastName"));
+    }
+
+    @Test
+    public void testSetAccountWithoutPersistentCache() {
+        // Act
+        cAccountCacheService.setAccount(StaticMockFactory.getMockAccountJson());
+        cAccountCacheService.loadPersistentAccount();
+        // Assert
+        assertTrue(cAccountCacheService.isCachedAccount());
+        verify(mPersistenceService, never()).setAccountCache(anyString(), anyLong());
+        verify(mPersistenceService, never()).getAccountCache();
+    }
+
+    @Test
+    public void testPendingPersistentRestoreIsCacheMiss() throws Exception {
+        // Arrange
+        when(mConfig.isAccountCachePersistent()).thenReturn(true);
+        final CountDownLatch restoreStarted = new CountDownLatch(1);
+        final CountDownLatch releaseRestore = new CountDownLatch(1);
+        when(mPersistenceService.getAccountCacheInvalidationTimestamp()).thenAnswer(new Answer<Long>() {
+            @Override
+            public Long answer(InvocationOnMock invocation) throws Throwable {
+                restoreStarted.countDown();
+                releaseRestore.await(5, TimeUnit.SECONDS);
+                return 0L;
+            }
+        });
+        // Act
+        cAccountCacheService.loadPersistentAccount();
+        assertTrue(restoreStarted.await(5, TimeUnit.SECONDS));
+        final long start = System.currentTimeMillis();
+        final boolean isCached = cAccountCacheService.isCachedAccount();
+        final long elapsed = System.currentTimeMillis() - start;
+        releaseRestore.countDown();
+        // Assert
+        assertFalse(isCached);
+        assertTrue(elapsed < 100);
+    }
+
+    @Test
+    public void testStaleCachedAccount() {
+        // Arrange
+        when(mConfig.getAccountStaleTime()).thenReturn(5);
+        cAccountCacheService.setAccount(StaticMockFactory.getMockAccountJson());
+        // Act
+        Whitebox.setInternalState(cAccountCacheService, "_accountInvalidationTimestamp", System.currentTimeMillis() - 1000);
+        // Assert
+        assertFalse(cAccountCacheService.isCachedAccount());
+        assertTrue(cAccountCacheService.isStaleCachedAccount());
+        // Act - stale window passed.
+        Whitebox.setInternalState(cAccountCacheService, "_accountInvalidationTimestamp", System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(6));
+        // Assert
+        assertFalse(cAccountCacheService.isStaleCachedAccount());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testAccountChangeObserver() {
+        // Arrange
+        final AccountChangeObserver<GigyaAccount> observer = mock(AccountChangeObserver.class);
+        cAccountCacheService.registerAccountChangeObserver(observer);
+        final String json = StaticMockFactory.getMockAccountJson();
+        // Act
+        cAccountCacheService.setAccount(json);
+        cAccountCacheService.setAccount(json);
+        // Assert - no change.
+        verify(observer, never()).onAccountChanged(any(GigyaAccount.class));
+        // Act
+        cAccountCacheService.setAccount(json.replace("fd30ce9173d24d0d9edce38f7c711b51", "changed"));
+        // Assert
+        verify(observer, times(1)).onAccountChanged(any(GigyaAccount.class));
+    }
+
+    @Test
+    public void testMergeAccount() {
+        // Arrange
+        when(mConfig.isAccountOptimisticUpdate()).thenReturn(true);
+        cAccountCacheService.setAccount(StaticMockFactory.getMockAccountJson());
+        final GigyaAccount cachedAccount = cAccountCacheService.getAccount();
+        final Map<String, Object> params = new HashMap<>();
+        params.put("UID", cachedAccount.getUID());
+        params.put("profile", "{\"lastName\":\"Chipopo\"}");
+        params.put("isActive", false);
+        // Act
+        final GigyaAccount merged = cAccountCacheService.mergeAccount(params);
+        // Assert
+        assertNotNull(merged);
+        assertEquals("Chipopo", merged.getProfile().getLastName());
+        assertEquals(cachedAccount.getProfile().getFirstName(), merged.getProfile().getFirstName());
+        assertFalse(merged.isActive());
+        assertEquals("Chipopo", cAccountCacheService.getAccount().getProfile().getLastName());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testMergeAccountKeepsExpiryAndSkipsUnchangedNotify() {
+        // Arrange
+        when(mConfig.isAccountOptimisticUpdate()).thenReturn(true);
+        final AccountChangeObserver<GigyaAccount> observer = mock(AccountChangeObserver.class);
+        cAccountCacheService.registerAccountChangeObserver(observer);
+        cAccountCacheService.setAccount(StaticMockFactory.getMockAccountJson());
+        final GigyaAccount cachedAccount = cAccountCacheService.getAccount();
+        final long invalidationTimestamp = System.currentTimeMillis() + 1000;
+        Whitebox.setInternalState(cAccountCacheService, "_accountInvalidationTimestamp", invalidationTimestamp);
+        final Map<String, Object> params = new HashMap<>();
+        params.put("UID", cachedAccount.getUID());
+        params.put("profile", "{\"lastName\":\"" + cachedAccount.getProfile().getLastName() + "\"}");
+        // Act
+        final GigyaAccount merged = cAccountCacheService.mergeAccount(params);
+        // Assert
+        assertNotNull(merged);
+        assertEquals(invalidationTimestamp, cAccountCacheService.getNextInvalidationTimestamp());
+        verify(observer, never()).onAccountChanged(any(GigyaAccount.class));
+    }
+
+    @Test
+    public void testMergeAccountIntoExpiredAccount() {
+        // Arrange
+        when(mConfig.isAccountOptimisticUpdate()).thenReturn(true);
+        cAccountCacheService.setAccount(StaticMockFactory.getMockAccountJson());
+        Whitebox.setInternalState(cAccountCacheService, "_accountInvalidationTimestamp", System.currentTimeMillis() - 1000);
+        final Map<String, Object> params = new HashMap<>();
+        params.put("profile", "{\"lastName\":\"Chipopo\"}");
+        // Act & Assert
+        assertNull(cAccountCacheService.mergeAccount(params));
+    }
+
+    @Test
+    public void testMergeAccountWithUnmergeableParameter() {
+        // Arrange
+        when(mConfig.isAccountOptimisticUpdate()).thenReturn(true);
+        cAccountCacheService.setAccount(StaticMockFactory.getMockAccountJson());
+        final Map<String, Object> params = new HashMap<>();
+        params.put("newPassword", "password");
+        // Act & Assert
+        assertNull(cAccountCacheService.mergeAccount(params));
+    }
+
+    @Test
+    public void testSetAccountMergesPartialProjection() {
+        // Arrange
+        cAccountCacheService.setAccount(StaticMockFactory.getMockAccountJson());
+        final GigyaAccount cachedAccount = cAccountCacheService.getAccount();
+        final AccountProjection requested = AccountProjection.of("profile,data,emails", null);
+        final AccountProjection missing = cAccountCacheService.getMissingProjection(requested);
+        final String partial = "{\"UID\":\"" + cachedAccount.getUID() + "\",\"emails\":{\"verified\":[\"tal@gigya.com\"]}}";
+        // Act
+        cAccountCacheService.setAccount(partial, missing);
+        // Assert
+        assertEquals("include=[emails], extraProfileFields=[]", missing.toString());
+        final GigyaAccount merged = cAccountCacheService.getAccount();
+        assertEquals("tal@gigya.com", merged.getEmails().getVerified().get(0));
+        assertEquals(cachedAccount.getProfile().getFirstName(), merged.getProfile().getFirstName());
+        assertTrue(cAccountCacheService.getMissingProjection(requested).isEmpty());
+    }
+
+    @Test
+    public void testReplaceAccountDropsOptimisticUpdate() {
+        // Arrange
+        when(mConfig.isAccountOptimisticUpdate()).thenReturn(true);
+        final String json = StaticMockFactory.getMockAccountJson();
+        cAccountCacheService.setAccount(json);
+        final GigyaAccount cachedAccount = cAccountCacheService.getAccount();
+        final Map<String, Object> params = new HashMap<>();
+        params.put("UID", cachedAccount.getUID());
+        params.put("profile", "{\"nickname\":\"Optimistic\"}");
+        assertNotNull(cAccountCacheService.mergeAccount(params));
+        final long invalidationTimestamp = System.currentTimeMillis() + 1000;
+        Whitebox.setInternalState(cAccountCacheService, "_accountInvalidationTimestamp", invalidationTimestamp);
+        // Act. Server state (reconcile).
+        cAccountCacheService.replaceAccount(json, cAccountCacheService.getProjection(null));
+        // Assert. Rejected optimistic field removed & invalidation timestamp renewed.
+        assertEquals(cachedAccount.getProfile().getNickname(), cAccountCacheService.getAccount().getProfile().getNickname());
+        assertTrue(cAccountCacheService.getNextInvalidationTimestamp() > invalidationTimestamp);
+    }
+
+    @Test
+    public void testRecentAccounts() {
+        // Arrange
+        when(mConfig.getMultiAccountCacheSize()).thenReturn(2);
+        final String json = StaticMockFactory.getMockAccountJson();
+        final String otherJson = json.replace("06529a7a82e2478a8b008a08dafcf20f", "otherUID");
+        // Act
+        cAccountCacheService.setAccount(json);
+        cAccountCacheService.setAccount(otherJson);
+        // Assert
+        assertEquals("otherUID", cAccountCacheService.getAccount().getUID());
+        assertNotNull(cAccountCacheService.getCachedAccount("06529a7a82e2478a8b008a08dafcf20f"));
+        assertNotNull(cAccountCacheService.getCachedAccount("otherUID"));
+        // Act
+        cAccountCacheService.invalidateAccounts();
+        // Assert
+        assertNull(cAccountCacheService.getCachedAccount("06529a7a82e2478a8b008a08dafcf20f"));
+        assertNull(cAccountCacheService.getCachedAccount("otherUID"));
+    }
+
+    @Test
+    public void testSessionChangeKeepsPreviousAccount() {
+        // Arrange
+        when(mConfig.getMultiAccountCacheSize()).thenReturn(2);
+        cAccountCacheService.setAccount(StaticMockFactory.getMockAccountJson());
+        // Act
+        cAccountCacheService.onSessionChanged("otherUID");
+        // Assert
+        assertFalse(cAccountCacheService.isCachedAccount());
+        assertNotNull(cAccountCacheService.getCachedAccount("06529a7a82e2478a8b008a08dafcf20f"));
+        // Act
+        cAccountCacheService.onSessionChanged("06529a7a82e2478a8b008a08dafcf20f");
+        // Assert
+        assertNull(cAccountCacheService.getCachedAccount("06529a7a82e2478a8b008a08dafcf20f"));
+    }
+
+    @Test
+    public void testRefreshAccount() {
+        // Arrange
+        final String partial = "{\"UID\":\"06529a7a82e2478a8b008a08dafcf20f\",\"profile\":{\"firstName\":\"Refreshed\"}}";
+        final AccountProjection projection = AccountProjection.of("loginIDs,profile", null);
+        // Act & Assert
+        assertFalse(cAccountCacheService.refreshAccount(partial, projection));
+        assertNull(cAccountCacheService.getAccount());
+        // Arrange
+        cAccountCacheService.setAccount(StaticMockFactory.getMockAccountJson());
+        final GigyaAccount cachedAccount = cAccountCacheService.getAccount();
+        // Act & Assert
+        assertTrue(cAccountCacheService.refreshAccount(partial, projection));
+        final GigyaAccount refreshed = cAccountCacheService.getAccount();
+        assertEquals("Refreshed", refreshed.getProfile().getFirstName());
+        assertEquals(cachedAccount.getProfile().getLastName(), refreshed.getProfile().getLastName());
+    }
 }
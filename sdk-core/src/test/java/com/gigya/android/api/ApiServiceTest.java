@@ -130,4 +130,25 @@ public class ApiServiceTest {
             }
         });
     }
+
+    @Test
+    public void testCancelReleasesPendingSignedRequest() {
+        // Arrange
+        GigyaApiRequest mockRequest = mock(GigyaApiRequest.class);
+        when(mockRequest.getApi()).thenReturn("accounts.getAccountInfo");
+        when(mockRequest.getTag()).thenReturn("accounts.getAccountInfo");
+        when(mockRequest.isAnonymous()).thenReturn(false);
+
+        // Act - adapter never reports back.
+        apiService.send(mockRequest, false, mock(ApiService.IApiServiceResponse.class));
+
+        // Assert
+        assertEquals(1, apiService.getPendingSignedRequestCount());
+
+        // Act
+        apiService.cancel("accounts.getAccountInfo");
+
+        // Assert
+        assertEquals(0, apiService.getPendingSignedRequestCount());
+    }
 }
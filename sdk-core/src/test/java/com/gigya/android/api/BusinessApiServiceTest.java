@@ -8,6 +8,7 @@ import com.gigya.android.sdk.ConfigFactory;
 import com.gigya.android.sdk.GigyaCallback;
 import com.gigya.android.sdk.GigyaDefinitions;
 import com.gigya.android.sdk.GigyaLoginCallback;
+import com.gigya.android.sdk.account.AccountProjection;
 import com.gigya.android.sdk.account.GigyaAccountClass;
 import com.gigya.android.sdk.account.IAccountService;
 import com.gigya.android.sdk.account.models.GigyaAccount;
@@ -33,6 +34,7 @@ import com.gigya.android.sdk.utils.FileUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
@@ -48,6 +50,10 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.doAnswer;
 import static org.powermock.api.mockito.PowerMockito.mock;
 import static org.powermock.api.mockito.PowerMockito.when;
@@ -471,6 +477,125 @@ public class BusinessApiServiceTest {
         });
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testStaleAccountRevalidationSendsCachedProjection() throws IllegalAccessException, InvocationTargetException, InstantiationException {
+        // Arrange
+        final AccountProjection projection = AccountProjection.of("profile,data", "languages");
+        when(_sessionService.isValid()).thenReturn(true);
+        when(_accountService.isCachedAccount()).thenReturn(false);
+        when(_accountService.isStaleCachedAccount()).thenReturn(true);
+        when(_accountService.getProjection((Map<String, Object>) any())).thenReturn(projection);
+        when(_accountService.getMissingProjection(any(AccountProjection.class))).thenReturn(AccountProjection.of(null, null));
+        when(_accountService.getAccount()).thenReturn(new GigyaAccount());
+        final GigyaApiResponse response = new GigyaApiResponse(StaticMockFactory.getMockAccountJson());
+        final ArgumentCaptor<Map> sentParams = ArgumentCaptor.forClass(Map.class);
+        when(_reqFactory.create(anyString(), (Map<String, Object>) sentParams.capture(), (RestAdapter.HttpMethod) any())).thenReturn(mockRequest());
+        doAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                ((ApiService.IApiServiceResponse) invocation.getArgument(2)).onApiSuccess(response);
+                return null;
+            }
+        }).when(_apiService).send(any(GigyaApiRequest.class), anyBoolean(), any(ApiService.IApiServiceResponse.class));
+
+        // Act
+        IBusinessApiService service = container.get(IBusinessApiService.class);
+        service.getAccount(new GigyaCallback<GigyaAccount>() {
+            @Override
+            public void onSuccess(GigyaAccount obj) {
+                // Stale account served.
+            }
+
+            @Override
+            public void onError(GigyaError error) {
+                // Redundant.
+            }
+        });
+
+        // Assert
+        assertEquals("data,profile", sentParams.getValue().get("include"));
+        assertEquals("languages", sentParams.getValue().get("extraProfileFields"));
+        verify(_accountService).replaceAccount(anyString(), eq(projection));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSingleRevalidationInFlight() throws IllegalAccessException, InvocationTargetException, InstantiationException {
+        // Arrange. Revalidation response is pending.
+        when(_sessionService.isValid()).thenReturn(true);
+        when(_accountService.isCachedAccount()).thenReturn(false);
+        when(_accountService.isStaleCachedAccount()).thenReturn(true);
+        when(_accountService.getProjection((Map<String, Object>) any())).thenReturn(AccountProjection.of("profile,data", null));
+        when(_accountService.getMissingProjection(any(AccountProjection.class))).thenReturn(AccountProjection.of(null, null));
+        when(_accountService.getAccount()).thenReturn(new GigyaAccount());
+        mockRequestFactory();
+        final GigyaCallback<GigyaAccount> callback = new GigyaCallback<GigyaAccount>() {
+            @Override
+            public void onSuccess(GigyaAccount obj) {
+                // Stale account served.
+            }
+
+            @Override
+            public void onError(GigyaError error) {
+                // Redundant.
+            }
+        };
+
+        // Act
+        IBusinessApiService service = container.get(IBusinessApiService.class);
+        service.getAccount(callback);
+        service.getAccount(callback);
+
+        // Assert
+        verify(_apiService, times(1)).send(any(GigyaApiRequest.class), anyBoolean(), any(ApiService.IApiServiceResponse.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testMissingProjectionNotMergedRequestsFullProjection() throws IllegalAccessException, InvocationTargetException, InstantiationException {
+        // Arrange. Cached account expires before the missing projection response arrives.
+        final AccountProjection requested = AccountProjection.of("profile,data,emails", null);
+        final AccountProjection missing = AccountProjection.of("emails", null);
+        when(_sessionService.isValid()).thenReturn(true);
+        when(_accountService.isCachedAccount()).thenReturn(true);
+        when(_accountService.getProjection((Map<String, Object>) any())).thenReturn(requested);
+        when(_accountService.getMissingProjection(any(AccountProjection.class))).thenReturn(missing);
+        when(_accountService.refreshAccount(anyString(), eq(missing))).thenReturn(false);
+        when(_accountService.getAccount()).thenReturn(new GigyaAccount());
+        final GigyaApiResponse response = new GigyaApiResponse(StaticMockFactory.getMockAccountJson());
+        final ArgumentCaptor<Map> sentParams = ArgumentCaptor.forClass(Map.class);
+        when(_reqFactory.create(anyString(), (Map<String, Object>) sentParams.capture(), (RestAdapter.HttpMethod) any())).thenReturn(mockRequest());
+        doAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                ((ApiService.IApiServiceResponse) invocation.getArgument(2)).onApiSuccess(response);
+                return null;
+            }
+        }).when(_apiService).send(any(GigyaApiRequest.class), anyBoolean(), any(ApiService.IApiServiceResponse.class));
+
+        // Act
+        IBusinessApiService service = container.get(IBusinessApiService.class);
+        service.getAccount(new GigyaCallback<GigyaAccount>() {
+            @Override
+            public void onSuccess(GigyaAccount obj) {
+                // Assert
+                assertNotNull(obj);
+            }
+
+            @Override
+            public void onError(GigyaError error) {
+                // Redundant.
+            }
+        });
+
+        // Assert. The partial response is not cached, the full projection is requested & cached.
+        assertEquals("emails", sentParams.getAllValues().get(0).get("include"));
+        assertEquals("data,emails,profile", sentParams.getAllValues().get(1).get("include"));
+        verify(_accountService, never()).setAccount(anyString(), eq(missing));
+        verify(_accountService).setAccount(anyString(), eq(requested));
+    }
+
     @Test
     public void testForgotPassword() throws IllegalAccessException, InvocationTargetException, InstantiationException {
         // Arrange
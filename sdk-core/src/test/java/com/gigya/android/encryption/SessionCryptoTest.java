@@ -0,0 +1,128 @@
+package com.gigya.android.encryption;
+
+import android.os.Build;
+
+import com.gigya.android.sdk.encryption.SessionCrypto;
+import com.gigya.android.sdk.encryption.SessionKeyV2;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.times;
+import static org.powermock.api.mockito.PowerMockito.verifyNew;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.powermock.api.mockito.PowerMockito.whenNew;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({SessionCrypto.class})
+@PowerMockIgnore("javax.crypto.*")
+public class SessionCryptoTest {
+
+    @Mock
+    private SessionKeyV2 mSessionKey;
+
+    private SecretKey mKey;
+
+    private SessionCrypto cSessionCrypto;
+
+    @Before
+    public void setup() throws Exception {
+        Whitebox.setInternalState(Build.VERSION.class, "SDK_INT", Build.VERSION_CODES.M);
+
+        // Generating mock SecretKey instance.
+        final KeyGenerator generator = KeyGenerator.getInstance("AES");
+        generator.init(128);
+        mKey = generator.generateKey();
+        when(mSessionKey.getKey()).thenReturn(mKey);
+        whenNew(SessionKeyV2.class).withNoArguments().thenReturn(mSessionKey);
+
+        cSessionCrypto = new SessionCrypto();
+    }
+
+    @Test
+    public void testKeyIsCached() throws Exception {
+        // Act
+        final SecretKey first = cSessionCrypto.getKey();
+        final SecretKey second = cSessionCrypto.getKey();
+        // Assert. KeyStore is accessed once.
+        assertSame(mKey, first);
+        assertSame(first, second);
+        verifyNew(SessionKeyV2.class, times(1)).withNoArguments();
+    }
+
+    @Test
+    public void testInvalidatedKeyIsResolvedAgain() throws Exception {
+        // Arrange
+        cSessionCrypto.getKey();
+        // Act
+        cSessionCrypto.invalidateKey();
+        cSessionCrypto.getKey();
+        cSessionCrypto.getKey();
+        // Assert
+        verifyNew(SessionKeyV2.class, times(2)).withNoArguments();
+    }
+
+    @Test
+    public void testCipherReusedPerThread() throws Exception {
+        // Act
+        final SessionCrypto.Sealed first = cSessionCrypto.encrypt(mKey, "first".getBytes());
+        final Cipher cipher = currentCipher();
+        final SessionCrypto.Sealed second = cSessionCrypto.encrypt(mKey, "second".getBytes());
+        // Assert. Same cipher, re-initialized with a new IV.
+        assertSame(cipher, currentCipher());
+        assertFalse(Arrays.equals(first.iv, second.iv));
+        assertArrayEquals("first".getBytes(), cSessionCrypto.decrypt(mKey, first.iv, first.cipherText));
+        assertArrayEquals("second".getBytes(), cSessionCrypto.decrypt(mKey, second.iv, second.cipherText));
+        assertSame(cipher, currentCipher());
+    }
+
+    @Test
+    public void testCipherNotSharedBetweenThreads() throws Exception {
+        // Arrange
+        final SessionCrypto.Sealed sealed = cSessionCrypto.encrypt(mKey, "session".getBytes());
+        final Cipher cipher = currentCipher();
+        final AtomicReference<Cipher> otherCipher = new AtomicReference<>();
+        final AtomicReference<byte[]> otherPlain = new AtomicReference<>();
+        // Act
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    otherPlain.set(cSessionCrypto.decrypt(mKey, sealed.iv, sealed.cipherText));
+                    otherCipher.set(currentCipher());
+                } catch (Exception ex) {
+                    ex.printStackTrace();
+                }
+            }
+        });
+        thread.start();
+        thread.join();
+        // Assert
+        assertArrayEquals("session".getBytes(), otherPlain.get());
+        assertNotNull(otherCipher.get());
+        assertNotSame(cipher, otherCipher.get());
+    }
+
+    private Cipher currentCipher() {
+        final ThreadLocal<Cipher> ciphers = Whitebox.getInternalState(cSessionCrypto, "_ciphers");
+        return ciphers.get();
+    }
+}
@@ -1,12 +1,17 @@
 package com.gigya.android.model;
 
 import com.gigya.android.sdk.account.models.GigyaAccount;
+import com.gigya.android.sdk.account.models.Profile;
 import com.gigya.android.sdk.utils.AccountGSONDeserializer;
+import com.gigya.android.sdk.utils.AccountTypeAdapterFactory;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
 
 import org.junit.Test;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -179,5 +184,109 @@ public class ProfileTest {
         assertEquals("office", account.getProfile().getPatents().get(0).getOffice());
     }
 
+    @Test
+    public void testSharedGsonWithAccountSubclass() {
+        final String json = "{\n" +
+                "  \"UID\": \"uid\",\n" +
+                "  \"profile\": {\n" +
+                "    \"firstName\": \"Some\",\n" +
+                "    \"work\": {\n" +
+                "      \"company\": \"SAP\"\n" +
+                "    }\n" +
+                "  },\n" +
+                "  \"data\": {\n" +
+                "    \"comment\": \"Custom data\"\n" +
+                "  }\n" +
+                "}";
+
+        final CustomAccount account = AccountTypeAdapterFactory.getGson().fromJson(json, CustomAccount.class);
+        assertEquals("uid", account.getUID());
+        assertNotNull(account.getProfile().getWork());
+        assertEquals("SAP", account.getProfile().getWork().get(0).getCompany());
+        assertEquals("Custom data", account.data.comment);
+    }
+
+    @Test
+    public void testProfileAdapterMatchesReflectiveParsing() {
+        final String json = "{\n" +
+                "  \"firstName\": \"Some\",\n" +
+                "  \"age\": 30,\n" +
+                "  \"followersCounts\": 5,\n" +
+                "  \"zip\": 12345,\n" +
+                "  \"nickname\": null,\n" +
+                "  \"unknownField\": {\n" +
+                "    \"nested\": [1, 2]\n" +
+                "  },\n" +
+                "  \"phones\": {\n" +
+                "    \"number\": \"123\"\n" +
+                "  },\n" +
+                "  \"lastLoginLocation\": {\n" +
+                "    \"city\": \"Tel Aviv\"\n" +
+                "  }\n" +
+                "}";
+
+        final Gson accountGson = AccountTypeAdapterFactory.getGson();
+        final Profile profile = accountGson.fromJson(json, Profile.class);
+        assertEquals("Some", profile.getFirstName());
+        assertEquals(30, (int) profile.getAge());
+        assertEquals(5L, (long) profile.getFollowersCounts());
+        assertEquals("12345", profile.getZip());
+        assertEquals("123", profile.getPhones().get(0).getNumber());
+        assertEquals("Tel Aviv", profile.getLastLoginLocation().getCity());
+        // Serialized form is identical to the reflective adapter output.
+        assertEquals(new Gson().toJson(profile), accountGson.toJson(profile));
+    }
+
+    @Test
+    public void testProfileAdapterCoversAllFields() throws Exception {
+        // Populate every serialized Profile field. A field missing from the handwritten adapter fails this test.
+        final Gson reflectiveGson = new Gson();
+        final Profile profile = new Profile();
+        for (Field field : Profile.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers()) || field.isSynthetic()) {
+                continue;
+            }
+            field.setAccessible(true);
+            field.set(profile, sampleValue(reflectiveGson, field));
+        }
+        final JsonElement expected = reflectiveGson.toJsonTree(profile);
+
+        final Gson accountGson = AccountTypeAdapterFactory.getGson();
+        // Write path.
+        assertEquals(expected, accountGson.toJsonTree(profile));
+        // Read path.
+        final Profile parsed = accountGson.fromJson(expected, Profile.class);
+        assertEquals(expected, reflectiveGson.toJsonTree(parsed));
+    }
+
+    /**
+     * Non null sample value for a Profile field. Nested models & lists are created by GSON.
+     */
+    private static Object sampleValue(Gson gson, Field field) {
+        final Class<?> type = field.getType();
+        if (type == String.class) {
+            return field.getName();
+        }
+        if (type == Integer.class) {
+            return 1;
+        }
+        if (type == Long.class) {
+            return 1L;
+        }
+        if (List.class.isAssignableFrom(type)) {
+            return gson.fromJson("[{}]", field.getGenericType());
+        }
+        final Object value = gson.fromJson("{}", field.getGenericType());
+        assertNotNull("No sample value for field: " + field.getName(), value);
+        return value;
+    }
 
+    private static class CustomAccount extends GigyaAccount {
+
+        private CustomData data;
+
+        private static class CustomData {
+            private String comment;
+        }
+    }
 }
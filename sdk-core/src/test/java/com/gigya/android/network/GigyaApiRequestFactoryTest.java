@@ -10,6 +10,7 @@ import com.gigya.android.sdk.api.GigyaApiRequestFactory;
 import com.gigya.android.sdk.network.adapter.RestAdapter;
 import com.gigya.android.sdk.session.ISessionService;
 import com.gigya.android.sdk.session.SessionInfo;
+import com.gigya.android.sdk.session.SessionSnapshot;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -143,10 +144,9 @@ public class GigyaApiRequestFactoryTest {
     public void testAuthenticatedRequest() {
         // Arrange
         final Map<String, Object> params = new HashMap<>();
-        when(_sessionService.isValid()).thenReturn(true);
-        when(_sessionService.getSession()).thenReturn(_sessionInfo);
         when(_sessionInfo.getSessionToken()).thenReturn("mockToken");
         when(_sessionInfo.getSessionSecret()).thenReturn("bW9ja1N0cmluZw==");
+        when(_sessionService.getSnapshot()).thenReturn(new SessionSnapshot(_sessionInfo, 0));
 
         // Act
         final GigyaApiRequest request = _factory.create("accounts.getAccountInfo", params, RestAdapter.HttpMethod.POST);
@@ -3,6 +3,8 @@ package com.gigya.android.network;
 import com.gigya.android.StaticMockFactory;
 import com.gigya.android.sdk.account.models.GigyaAccount;
 import com.gigya.android.sdk.api.GigyaApiResponse;
+import com.gigya.android.sdk.api.ResponseFieldPath;
+import com.gigya.android.sdk.session.SessionInfo;
 
 import org.json.JSONException;
 import org.junit.Assert;
@@ -10,11 +12,13 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.HashMap;
+import java.util.Map;
 
 import static junit.framework.TestCase.assertNotNull;
 import static junit.framework.TestCase.assertTrue;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 
 public class GigyaApiResponseTest {
@@ -155,4 +159,71 @@ public class GigyaApiResponseTest {
         // Assert
         assertNull(ga);
     }
+
+    @Test
+    public void testGetFieldTypedConversion() {
+        // Arrange
+        GigyaApiResponse dummyResp = new GigyaApiResponse("{\"refreshTime\": 12, \"sessionInfo\": {\"sessionToken\": \"token\", \"sessionSecret\": \"secret\"}}");
+        // Act
+        final Long refreshTime = dummyResp.getField("refreshTime", Long.class);
+        final SessionInfo sessionInfo = dummyResp.getField("sessionInfo", SessionInfo.class);
+        // Assert
+        Assert.assertEquals(Long.valueOf(12), refreshTime);
+        assertNotNull(sessionInfo);
+        Assert.assertEquals("secret", sessionInfo.getSessionSecret());
+    }
+
+    @Test
+    public void testGetFields() {
+        // Act
+        final Map<String, Object> fields = response.getFields("callId", "profile.firstName", "profile.lastName", "profile.none.deep");
+        // Assert
+        Assert.assertEquals(4, fields.size());
+        Assert.assertEquals(response.getCallId(), fields.get("callId"));
+        Assert.assertEquals(response.getField("profile.firstName", String.class), fields.get("profile.firstName"));
+        assertNotNull(fields.get("profile.lastName"));
+        assertNull(fields.get("profile.none.deep"));
+    }
+
+    @Test
+    public void testConvertBatchFields() {
+        // Arrange
+        GigyaApiResponse dummyResp = new GigyaApiResponse("{\"UID\": \"uid\", \"sessionInfo\": {\"sessionToken\": \"token\", \"sessionSecret\": \"secret\"}}");
+        // Act
+        final Map<String, Object> fields = dummyResp.getFields("sessionInfo.sessionSecret", "sessionInfo", "UID");
+        final SessionInfo sessionInfo = dummyResp.convertField(fields.get("sessionInfo"), SessionInfo.class);
+        // Assert
+        Assert.assertEquals("secret", fields.get("sessionInfo.sessionSecret"));
+        assertNotNull(sessionInfo);
+        Assert.assertEquals("token", sessionInfo.getSessionToken());
+        Assert.assertEquals("uid", dummyResp.convertField(fields.get("UID"), String.class));
+        assertNull(dummyResp.convertField(fields.get("none"), String.class));
+    }
+
+    @Test
+    public void testCompiledPathCacheKeepsRecentlyUsedPaths() {
+        // Arrange
+        final ResponseFieldPath hot = ResponseFieldPath.compile("sessionInfo.sessionSecret");
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            ResponseFieldPath.compile("dynamic.key" + i);
+            ResponseFieldPath.compile("sessionInfo.sessionSecret");
+        }
+        // Assert
+        assertSame(hot, ResponseFieldPath.compile("sessionInfo.sessionSecret"));
+    }
+
+    @Test
+    public void testErrorEnvelope() {
+        // Arrange
+        GigyaApiResponse errorResp = new GigyaApiResponse("{\"callId\": \"id\", \"data\": {\"deep\": [1, {\"errorCode\": 1}]}, " +
+                "\"errorCode\": 403042, \"errorDetails\": \"Invalid LoginID\", \"statusCode\": 403}");
+        // Assert
+        Assert.assertEquals(403042, errorResp.getErrorCode());
+        Assert.assertEquals(403, errorResp.getStatusCode());
+        Assert.assertEquals("id", errorResp.getCallId());
+        Assert.assertEquals("Invalid LoginID", errorResp.getErrorDetails());
+        assertNull(errorResp.getStatusReason());
+        assertTrue(errorResp.containsNested("data.deep"));
+    }
 }
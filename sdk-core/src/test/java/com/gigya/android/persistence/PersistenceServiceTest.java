@@ -0,0 +1,89 @@
+package com.gigya.android.persistence;
+
+import com.gigya.android.BaseGigyaTest;
+import com.gigya.android.sdk.persistence.PersistenceService;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+@RunWith(PowerMockRunner.class)
+public class PersistenceServiceTest extends BaseGigyaTest {
+
+    private PersistenceService cPersistenceService;
+
+    @Before
+    public void setup() throws Exception {
+        super.setup();
+        mockSharedPreferences();
+        when(mEditor.putLong(anyString(), anyLong())).thenReturn(mEditor);
+        cPersistenceService = new PersistenceService(mContext);
+    }
+
+    @Test
+    public void testTransactionAppliesOnce() {
+        // Act
+        cPersistenceService.beginTransaction();
+        cPersistenceService.setGmid("gmid");
+        cPersistenceService.setUcid("ucid");
+        cPersistenceService.setGmidRefreshTime(1L);
+        // Assert
+        verify(mEditor, never()).apply();
+        cPersistenceService.commitTransaction();
+        verify(mSharedPreferences, times(1)).edit();
+        verify(mEditor, times(1)).apply();
+    }
+
+    @Test
+    public void testNestedTransaction() {
+        // Act
+        cPersistenceService.beginTransaction();
+        cPersistenceService.beginTransaction();
+        cPersistenceService.setGmid("gmid");
+        cPersistenceService.commitTransaction();
+        // Assert. Inner commit does not apply.
+        verify(mEditor, never()).apply();
+        cPersistenceService.setUcid("ucid");
+        cPersistenceService.commitTransaction();
+        verify(mSharedPreferences, times(1)).edit();
+        verify(mEditor, times(1)).apply();
+    }
+
+    @Test
+    public void testAbortedTransaction() {
+        // Act
+        cPersistenceService.beginTransaction();
+        cPersistenceService.setGmid("gmid");
+        cPersistenceService.abortTransaction();
+        // Assert. Pending writes are discarded.
+        verify(mEditor, never()).apply();
+        // Writes following the aborted transaction apply directly.
+        cPersistenceService.setUcid("ucid");
+        verify(mEditor, times(1)).apply();
+    }
+
+    @Test
+    public void testNestedAbortedTransaction() {
+        // Act
+        cPersistenceService.beginTransaction();
+        cPersistenceService.setGmid("gmid");
+        cPersistenceService.beginTransaction();
+        cPersistenceService.setUcid("ucid");
+        cPersistenceService.abortTransaction();
+        cPersistenceService.commitTransaction();
+        // Assert. Inner abort discards the outer transaction as well.
+        verify(mEditor, never()).apply();
+        // Transaction is closed.
+        cPersistenceService.setGmidRefreshTime(1L);
+        verify(mEditor, times(1)).apply();
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.gigya.android.scheduler;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.SystemClock;
+
+import com.gigya.android.sdk.scheduler.GigyaScheduler;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.powermock.api.mockito.PowerMockito.whenNew;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({GigyaScheduler.class, SystemClock.class})
+public class GigyaSchedulerTest {
+
+    @Mock
+    private HandlerThread mHandlerThread;
+
+    @Mock
+    private Handler mHandler;
+
+    private final List<String> mRan = new ArrayList<>();
+
+    private GigyaScheduler cScheduler;
+
+    @Before
+    public void setup() throws Exception {
+        mockStatic(SystemClock.class);
+        setNow(1000L);
+        whenNew(HandlerThread.class).withAnyArguments().thenReturn(mHandlerThread);
+        whenNew(Handler.class).withAnyArguments().thenReturn(mHandler);
+        cScheduler = new GigyaScheduler();
+    }
+
+    private void setNow(long now) {
+        when(SystemClock.elapsedRealtime()).thenReturn(now);
+    }
+
+    private Runnable record(final String name) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                mRan.add(name);
+            }
+        };
+    }
+
+    /**
+     * Get the last armed wakeup.
+     */
+    private Runnable armedWakeup(int armedCount) {
+        final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(mHandler, times(armedCount)).postDelayed(captor.capture(), anyLong());
+        return captor.getValue();
+    }
+
+    @Test
+    public void testCloseDeadlinesCoalesced() {
+        // Act. Both deadlines are rounded up to the same 1 second slot.
+        cScheduler.schedule(record("first"), 1500);
+        cScheduler.schedule(record("second"), 1800);
+        // Assert. A single wakeup is armed for the slot.
+        verify(mHandler, times(1)).postDelayed(any(Runnable.class), anyLong());
+        verify(mHandler).postDelayed(any(Runnable.class), eq(2000L));
+        // Act
+        setNow(3000L);
+        armedWakeup(1).run();
+        // Assert
+        assertEquals(2, mRan.size());
+        assertTrue(mRan.contains("first"));
+        assertTrue(mRan.contains("second"));
+    }
+
+    @Test
+    public void testTaskNeverRunsEarly() {
+        // Arrange
+        cScheduler.schedule(record("task"), 1500);
+        final Runnable wakeup = armedWakeup(1);
+        // Act. Wakeup before the slot.
+        setNow(2600L);
+        wakeup.run();
+        // Assert. Not run & the slot is armed again.
+        assertTrue(mRan.isEmpty());
+        verify(mHandler, times(2)).postDelayed(any(Runnable.class), anyLong());
+        // Act
+        setNow(3000L);
+        wakeup.run();
+        // Assert
+        assertEquals(1, mRan.size());
+    }
+
+    @Test
+    public void testEarlierSlotRearms() {
+        // Arrange
+        cScheduler.schedule(record("late"), 30000);
+        // Act. Earlier slot replaces the armed wakeup.
+        cScheduler.schedule(record("early"), 1500);
+        // Assert
+        verify(mHandler, times(2)).postDelayed(any(Runnable.class), anyLong());
+        // Act. Later slot keeps the armed wakeup.
+        cScheduler.schedule(record("later"), 60000);
+        // Assert
+        verify(mHandler, times(2)).postDelayed(any(Runnable.class), anyLong());
+    }
+
+    @Test
+    public void testCancel() {
+        // Arrange
+        final GigyaScheduler.Task canceled = cScheduler.schedule(record("canceled"), 1500);
+        cScheduler.schedule(record("task"), 1800);
+        // Act
+        canceled.cancel();
+        setNow(3000L);
+        armedWakeup(1).run();
+        // Assert. Only the pending task runs.
+        assertEquals(1, mRan.size());
+        assertEquals("task", mRan.get(0));
+    }
+
+    @Test
+    public void testCancelLastTaskInSlot() {
+        // Arrange
+        final GigyaScheduler.Task task = cScheduler.schedule(record("task"), 1500);
+        final Runnable wakeup = armedWakeup(1);
+        // Act
+        task.cancel();
+        setNow(3000L);
+        wakeup.run();
+        // Assert. Nothing runs & no further wakeup is armed.
+        assertTrue(mRan.isEmpty());
+        verify(mHandler, times(1)).postDelayed(any(Runnable.class), anyLong());
+    }
+}
@@ -0,0 +1,132 @@
+package com.gigya.android.session;
+
+import android.content.Context;
+
+import com.gigya.android.sdk.session.MultiProcessSessionStore;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+@RunWith(PowerMockRunner.class)
+public class MultiProcessSessionStoreTest {
+
+    @Rule
+    public TemporaryFolder mFolder = new TemporaryFolder();
+
+    @Mock
+    private Context mContext;
+
+    @Before
+    public void setup() {
+        when(mContext.getFilesDir()).thenReturn(mFolder.getRoot());
+    }
+
+    /**
+     * Write the raw store file content.
+     */
+    private void writeStoreFile(String content) throws IOException {
+        final File directory = new File(mFolder.getRoot(), "gigya_session");
+        assertTrue(directory.exists() || directory.mkdirs());
+        final FileOutputStream out = new FileOutputStream(new File(directory, "session.store"));
+        try {
+            out.write(content.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+    }
+
+    @Test
+    public void testWriteRead() {
+        // Arrange
+        final MultiProcessSessionStore store = new MultiProcessSessionStore(mContext);
+        // Act
+        store.write(100L, "iv", "session");
+        final MultiProcessSessionStore.Entry entry = new MultiProcessSessionStore(mContext).read();
+        // Assert
+        assertNotNull(entry);
+        assertEquals(1L, entry.generation);
+        assertEquals(100L, entry.expiresAt);
+        assertEquals("iv", entry.ivSpec);
+        assertEquals("session", entry.encryptedSession);
+        assertTrue(entry.hasSession());
+    }
+
+    @Test
+    public void testGenerationConflict() {
+        // Arrange. Two processes, neither has read the other's write.
+        final MultiProcessSessionStore first = new MultiProcessSessionStore(mContext);
+        final MultiProcessSessionStore second = new MultiProcessSessionStore(mContext);
+        // Act
+        first.write(0L, "iv1", "session1");
+        second.write(0L, "iv2", "session2");
+        // Assert. Generation is resolved under the lock, the latest write wins.
+        final MultiProcessSessionStore.Entry entry = first.read();
+        assertNotNull(entry);
+        assertEquals(2L, entry.generation);
+        assertEquals("session2", entry.encryptedSession);
+        // Act
+        first.write(0L, "iv3", "session3");
+        // Assert
+        assertEquals(3L, second.read().generation);
+    }
+
+    @Test
+    public void testPartialStoreFile() throws Exception {
+        // Arrange
+        writeStoreFile("5\n");
+        final MultiProcessSessionStore store = new MultiProcessSessionStore(mContext);
+        // Act & Assert. Partial entry is ignored.
+        assertNull(store.read());
+        // Act. Store recovers on the next write.
+        store.write(0L, "iv", "session");
+        // Assert
+        final MultiProcessSessionStore.Entry entry = store.read();
+        assertNotNull(entry);
+        assertEquals(1L, entry.generation);
+        assertEquals("session", entry.encryptedSession);
+    }
+
+    @Test
+    public void testCorruptedStoreFile() throws Exception {
+        // Arrange
+        writeStoreFile("not a generation\n0\niv\nsession\n");
+        final MultiProcessSessionStore store = new MultiProcessSessionStore(mContext);
+        // Act & Assert
+        assertNull(store.read());
+        assertNull(store.readIfChanged());
+    }
+
+    @Test
+    public void testClearPropagatesToOtherProcess() {
+        // Arrange
+        final MultiProcessSessionStore first = new MultiProcessSessionStore(mContext);
+        final MultiProcessSessionStore second = new MultiProcessSessionStore(mContext);
+        first.write(0L, "iv", "session");
+        assertTrue(second.read().hasSession());
+        // Act
+        first.write(0L, null, null);
+        // Assert. Cleared entry is a change for the other process only.
+        assertNull(first.readIfChanged());
+        final MultiProcessSessionStore.Entry entry = second.readIfChanged();
+        assertNotNull(entry);
+        assertFalse(entry.hasSession());
+        assertNull(second.readIfChanged());
+    }
+
+}
@@ -1,20 +1,35 @@
 package com.gigya.android.session;
 
 import android.content.SharedPreferences;
-import android.os.CountDownTimer;
 import android.text.TextUtils;
+import android.util.Base64;
 
 import com.gigya.android.BaseGigyaTest;
 import com.gigya.android.StaticMockFactory;
+import com.gigya.android.sdk.Config;
+import com.gigya.android.sdk.ConfigFactory;
 import com.gigya.android.sdk.GigyaInterceptor;
 import com.gigya.android.sdk.encryption.ISecureKey;
+import com.gigya.android.sdk.encryption.SessionCrypto;
+import com.gigya.android.sdk.persistence.PersistenceService;
+import com.gigya.android.sdk.scheduler.GigyaScheduler;
+import com.gigya.android.sdk.session.MultiProcessSessionStore;
 import com.gigya.android.sdk.session.SessionInfo;
 import com.gigya.android.sdk.session.SessionService;
+import com.gigya.android.sdk.session.SessionSnapshot;
+import com.gigya.android.sdk.session.SessionStateHandler;
+import com.gigya.android.sdk.utils.CipherUtils;
+import com.gigya.android.sdk.utils.FileUtils;
 import com.google.gson.Gson;
 
+import org.json.JSONObject;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
@@ -22,23 +37,42 @@ import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
 
 import static junit.framework.TestCase.assertNotNull;
 import static junit.framework.TestCase.assertTrue;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.doAnswer;
 import static org.powermock.api.mockito.PowerMockito.doNothing;
+import static org.powermock.api.mockito.PowerMockito.doThrow;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.when;
 import static org.powermock.api.mockito.PowerMockito.whenNew;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({TextUtils.class, CountDownTimer.class})
+@PrepareForTest({TextUtils.class, Base64.class})
 @PowerMockIgnore("javax.crypto.*")
 public class SessionServiceTest extends BaseGigyaTest {
 
+    @Rule
+    public TemporaryFolder mFolder = new TemporaryFolder();
+
     @Mock
     private SessionInfo mSessionInfo;
 
@@ -46,7 +80,11 @@ public class SessionServiceTest extends BaseGigyaTest {
     private ISecureKey mSecureKey;
 
     @Mock
-    private CountDownTimer mCountdownTimer;
+    private FileUtils mFileUtils;
+
+    private SecretKey mKey;
+
+    private SessionCrypto cCrypto;
 
     private SessionService cSessionService;
 
@@ -70,8 +108,72 @@ public class SessionServiceTest extends BaseGigyaTest {
         generator.init(128);
         final SecretKey secretKey = generator.generateKey();
         when(mSecureKey.getKey()).thenReturn(secretKey);
+        mKey = secretKey;
 
-        cSessionService = new SessionService(mContext, mConfig, mPersistenceService, null);
+        // Session crypto using the generated key (no KeyStore).
+        mockBase64();
+        cCrypto = new SessionCrypto() {
+            @Override
+            public SecretKey getKey() {
+                return mKey;
+            }
+        };
+
+        cSessionService = new SessionService(mContext, mConfig, mPersistenceService, new SessionStateHandler(), cCrypto, new GigyaScheduler());
+    }
+
+    private void mockBase64() {
+        mockStatic(Base64.class);
+        when(Base64.decode(anyString(), anyInt())).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                return java.util.Base64.getMimeDecoder().decode((String) invocation.getArguments()[0]);
+            }
+        });
+        when(Base64.encodeToString(any(byte[].class), anyInt())).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                return java.util.Base64.getEncoder().encodeToString((byte[]) invocation.getArguments()[0]);
+            }
+        });
+    }
+
+    /**
+     * Mock a persisted "DEFAULT" session encrypted with the test key.
+     */
+    private void mockPersistedSession(String json, int migrationVersion) throws Exception {
+        final SessionCrypto.Sealed sealed = cCrypto.encrypt(mKey, json.getBytes());
+        when(mPersistenceService.isSessionAvailable()).thenReturn(true);
+        when(mPersistenceService.getSession()).thenReturn(CipherUtils.encode(sealed.cipherText));
+        when(mPersistenceService.getString(PersistenceService.PREFS_KEY_IV_SPEC_SESSION, null))
+                .thenReturn(Base64.encodeToString(sealed.iv, Base64.DEFAULT));
+        when(mPersistenceService.getSessionEncryptionType()).thenReturn("DEFAULT");
+        when(mPersistenceService.getSessionMigrationVersion()).thenReturn(migrationVersion);
+    }
+
+    /**
+     * Enable the multi process session store (test folder).
+     * The store is used once the session is loaded.
+     */
+    private void mockMultiProcessSession() {
+        when(mConfig.isMultiProcessSession()).thenReturn(true);
+        when(mContext.getFilesDir()).thenReturn(mFolder.getRoot());
+        when(mPersistenceService.getSessionEncryptionType()).thenReturn("DEFAULT");
+    }
+
+    /**
+     * Answer blocking the given thread until the gate is opened.
+     */
+    private static <T> Answer<T> blockingAnswer(final String threadName, final CountDownLatch gate, final T result) {
+        return new Answer<T>() {
+            @Override
+            public T answer(InvocationOnMock invocation) throws Throwable {
+                if (threadName.equals(Thread.currentThread().getName())) {
+                    gate.await();
+                }
+                return result;
+            }
+        };
     }
 
     @Test
@@ -233,13 +335,282 @@ public class SessionServiceTest extends BaseGigyaTest {
                 return mEditor;
             }
         });
-        when(mCountdownTimer.start()).thenReturn(mCountdownTimer);
-        doNothing().when(mCountdownTimer).cancel();
-        whenNew(CountDownTimer.class).withAnyArguments().thenReturn(mCountdownTimer);
         final SessionInfo sessionInfo = new Gson().fromJson(StaticMockFactory.getSessionMockWithFiveMinutesExpiration(), SessionInfo.class);
         // Act
         cSessionService.setSession(sessionInfo);
 
     }
 
+    @Test
+    public void testSessionExpirationWrittenWhenSaveFails() throws Exception {
+        // Arrange
+        when(mPersistenceService.getSessionEncryptionType()).thenReturn("DEFAULT");
+        doThrow(new IllegalStateException("write failed")).when(mPersistenceService).setSession(anyString());
+        final SessionInfo sessionInfo = new Gson().fromJson(StaticMockFactory.getSessionMockWithFiveMinutesExpiration(), SessionInfo.class);
+        // Act
+        cSessionService.setSession(sessionInfo);
+        cSessionService.flush();
+        // Assert
+        verify(mPersistenceService).abortTransaction();
+        verify(mPersistenceService).setSessionExpiration(anyLong());
+    }
+
+    @Test
+    public void testSnapshotValidity() throws Exception {
+        // Arrange
+        when(mPersistenceService.getSessionEncryptionType()).thenReturn("DEFAULT");
+        when(mEditor.putString(anyString(), anyString())).thenReturn(mEditor);
+        final SessionInfo sessionInfo = new Gson().fromJson(StaticMockFactory.getSessionMockWithFiveMinutesExpiration(), SessionInfo.class);
+        // Act
+        cSessionService.setSession(sessionInfo);
+        final SessionSnapshot snapshot = cSessionService.getSnapshot();
+        // Assert
+        assertTrue(cSessionService.isValid());
+        assertEquals(sessionInfo.getSessionToken(), snapshot.getSessionToken());
+        assertTrue(snapshot.getExpiresAt() > System.currentTimeMillis());
+        assertFalse(snapshot.isValid(snapshot.getExpiresAt()));
+        // Expiration is written through once (session writer) & never read back.
+        cSessionService.flush();
+        verify(mPersistenceService, times(1)).setSessionExpiration(anyLong());
+        verify(mPersistenceService, never()).getSessionExpiration();
+    }
+
+    @Test
+    public void testLoadMigrationRunsOnce() throws Exception {
+        // Arrange
+        mockPersistedSession(StaticMockFactory.getSessionMock(), 0);
+        // Act
+        cSessionService.load();
+        cSessionService.flush();
+        // Assert. Session is re-saved & the migration version is stamped.
+        assertEquals(StaticMockFactory.TOKEN, cSessionService.getSession().getSessionToken());
+        verify(mPersistenceService, times(1)).setSession(anyString());
+        verify(mPersistenceService, times(1)).setSessionMigrationVersion(2);
+
+        // Arrange. Migrated session.
+        when(mPersistenceService.getSessionMigrationVersion()).thenReturn(2);
+        // Act
+        cSessionService.load();
+        cSessionService.flush();
+        // Assert. No further migration writes.
+        assertEquals(StaticMockFactory.TOKEN, cSessionService.getSession().getSessionToken());
+        verify(mPersistenceService, times(1)).setSession(anyString());
+        verify(mPersistenceService, times(1)).setSessionMigrationVersion(anyInt());
+    }
+
+    @Test
+    public void testLoadMigrationMovesDynamicConfigToPersistence() throws Exception {
+        // Arrange. Legacy session containing the dynamic configuration.
+        final String json = new JSONObject(StaticMockFactory.getSessionMock())
+                .put("gmid", "gmid")
+                .put("ucid", "ucid")
+                .toString();
+        mockPersistedSession(json, 0);
+        // Act
+        cSessionService.load();
+        cSessionService.flush();
+        // Assert. Migrated on the session writer, configuration is not updated off the main thread.
+        verify(mPersistenceService).setGmid("gmid");
+        verify(mPersistenceService).setUcid("ucid");
+        verify(mConfig, never()).setGmid(anyString());
+        verify(mConfig, never()).setUcid(anyString());
+    }
+
+    @Test
+    public void testAsyncRestore() throws Exception {
+        // Arrange
+        mockPersistedSession(StaticMockFactory.getSessionMock(), 2);
+        final String encryptedSession = mPersistenceService.getSession();
+        final CountDownLatch gate = new CountDownLatch(1);
+        when(mPersistenceService.getSession()).thenAnswer(blockingAnswer("gigya-session-restore", gate, encryptedSession));
+        final CountDownLatch restored = new CountDownLatch(1);
+        // Act
+        cSessionService.loadAsync();
+        cSessionService.onRestored(new Runnable() {
+            @Override
+            public void run() {
+                restored.countDown();
+            }
+        });
+        // Assert. Restore action is pending.
+        assertFalse(restored.await(100, TimeUnit.MILLISECONDS));
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                gate.countDown();
+            }
+        }).start();
+        // Session queries wait for the restore.
+        assertTrue(cSessionService.isValid());
+        assertTrue(restored.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRefreshSessionExpirationDoesNotWaitForRestore() throws Exception {
+        // Arrange. Expired persisted session. Restore is pending.
+        mockPersistedSession(StaticMockFactory.getSessionMock(), 2);
+        when(mPersistenceService.getSessionExpiration()).thenReturn(System.currentTimeMillis() - 1000);
+        final String encryptedSession = mPersistenceService.getSession();
+        final CountDownLatch gate = new CountDownLatch(1);
+        when(mPersistenceService.getSession()).thenAnswer(blockingAnswer("gigya-session-restore", gate, encryptedSession));
+        cSessionService.loadAsync();
+        // Act
+        final long start = System.currentTimeMillis();
+        cSessionService.refreshSessionExpiration();
+        // Assert. Caller does not wait for the restore.
+        assertTrue(System.currentTimeMillis() - start < 1000);
+        verify(mPersistenceService, never()).removeSession();
+        // Act
+        gate.countDown();
+        // Assert. Expired session is cleared once restored.
+        verify(mPersistenceService, timeout(1000)).removeSession();
+    }
+
+    @Test
+    public void testAsyncRestoreTimeout() throws Exception {
+        // Arrange
+        mockPersistedSession(StaticMockFactory.getSessionMock(), 2);
+        final String encryptedSession = mPersistenceService.getSession();
+        final CountDownLatch gate = new CountDownLatch(1);
+        final Thread[] restoreThread = new Thread[1];
+        when(mPersistenceService.getSession()).thenAnswer(new Answer<String>() {
+            @Override
+            public String answer(InvocationOnMock invocation) throws Throwable {
+                if ("gigya-session-restore".equals(Thread.currentThread().getName())) {
+                    restoreThread[0] = Thread.currentThread();
+                    gate.await();
+                }
+                return encryptedSession;
+            }
+        });
+        // Act. Restore times out & is completed on the calling thread.
+        cSessionService.loadAsync();
+        assertTrue(cSessionService.isValid());
+        cSessionService.clear(false);
+        gate.countDown();
+        restoreThread[0].join(1000);
+        // Assert. The late restore does not resurrect the cleared session.
+        assertNull(cSessionService.getSession());
+        assertFalse(cSessionService.isValid());
+    }
+
+    @Test
+    public void testClearIsOrderedAfterPendingWrites() throws Exception {
+        // Arrange
+        when(mPersistenceService.getSessionEncryptionType()).thenReturn("DEFAULT");
+        final CountDownLatch gate = new CountDownLatch(1);
+        doAnswer(blockingAnswer("gigya-session-writer", gate, null)).when(mPersistenceService).beginTransaction();
+        // Act. Session write is pending on the session writer.
+        cSessionService.setSession(mSessionInfo);
+        cSessionService.clear(true);
+        // Assert. Clear does not wait for the session writer.
+        assertNull(cSessionService.getSession());
+        verify(mPersistenceService, never()).removeSession();
+        // Act
+        gate.countDown();
+        cSessionService.flush();
+        // Assert. Pending session write is done before the session is removed.
+        final InOrder order = inOrder(mPersistenceService);
+        order.verify(mPersistenceService).setSession(anyString());
+        order.verify(mPersistenceService).removeSession();
+        assertNull(cSessionService.getSession());
+    }
+
+    @Test
+    public void testSaveWritesSessionStore() {
+        // Arrange
+        mockMultiProcessSession();
+        cSessionService.load();
+        // Act
+        cSessionService.setSession(mSessionInfo);
+        cSessionService.flush();
+        // Assert
+        final MultiProcessSessionStore.Entry entry = new MultiProcessSessionStore(mContext).read();
+        assertNotNull(entry);
+        assertTrue(entry.hasSession());
+    }
+
+    @Test
+    public void testLoadFromSessionStore() {
+        // Arrange. Session saved by another process.
+        mockMultiProcessSession();
+        cSessionService.load();
+        cSessionService.setSession(mSessionInfo);
+        cSessionService.flush();
+        final SessionService sessionService = new SessionService(mContext, mConfig, mPersistenceService, new SessionStateHandler(), cCrypto, new GigyaScheduler());
+        // Act
+        sessionService.load();
+        // Assert. The store is authoritative.
+        assertEquals("mSessionToken", sessionService.getSession().getSessionToken());
+        verify(mPersistenceService, never()).getSession();
+    }
+
+    @Test
+    public void testClearWritesSessionStore() {
+        // Arrange
+        mockMultiProcessSession();
+        cSessionService.load();
+        cSessionService.setSession(mSessionInfo);
+        // Act
+        cSessionService.clear(true);
+        cSessionService.flush();
+        // Assert
+        final MultiProcessSessionStore.Entry entry = new MultiProcessSessionStore(mContext).read();
+        assertNotNull(entry);
+        assertFalse(entry.hasSession());
+    }
+
+    @Test
+    @PrepareForTest({SessionService.class})
+    public void testSessionStoreChanged() throws Exception {
+        // Arrange
+        mockMultiProcessSession();
+        final MultiProcessSessionStore store = spy(new MultiProcessSessionStore(mContext));
+        final ArgumentCaptor<MultiProcessSessionStore.ChangeListener> listener = ArgumentCaptor.forClass(MultiProcessSessionStore.ChangeListener.class);
+        doNothing().when(store).startWatching(listener.capture());
+        whenNew(MultiProcessSessionStore.class).withAnyArguments().thenReturn(store);
+        final SessionService sessionService = new SessionService(mContext, mConfig, mPersistenceService, new SessionStateHandler(), cCrypto, new GigyaScheduler());
+        sessionService.load();
+        sessionService.setSession(mSessionInfo);
+        sessionService.flush();
+        final MultiProcessSessionStore otherProcess = new MultiProcessSessionStore(mContext);
+
+        // Act. Session updated by another process.
+        final SessionCrypto.Sealed sealed = cCrypto.encrypt(mKey, StaticMockFactory.getSessionMock().getBytes());
+        otherProcess.write(0L, Base64.encodeToString(sealed.iv, Base64.DEFAULT), CipherUtils.encode(sealed.cipherText));
+        listener.getValue().onStoreChanged(store.readIfChanged());
+        // Assert
+        assertEquals(StaticMockFactory.TOKEN, sessionService.getSession().getSessionToken());
+
+        // Act. Session cleared by another process.
+        otherProcess.write(0L, null, null);
+        listener.getValue().onStoreChanged(store.readIfChanged());
+        // Assert. Applied in memory only.
+        assertNull(sessionService.getSession());
+        verify(mPersistenceService, never()).removeSession();
+    }
+
+    @Test
+    public void testSessionStoreFromConfigurationFile() throws Exception {
+        // Arrange. Configuration file loaded at init (not a mocked getter).
+        when(mContext.getFilesDir()).thenReturn(mFolder.getRoot());
+        when(mPersistenceService.getSessionEncryptionType()).thenReturn("DEFAULT");
+        when(mFileUtils.containsFile(anyString())).thenReturn(true);
+        when(mFileUtils.loadFile(anyString())).thenReturn("{\n" +
+                "  \"apiKey\": \"" + StaticMockFactory.API_KEY + "\",\n" +
+                "  \"apiDomain\": \"us1.gigya.com\",\n" +
+                "  \"multiProcessSession\": true\n" +
+                "}");
+        final Config config = new Config().updateWith(new ConfigFactory(mFileUtils).load());
+        final SessionService sessionService = new SessionService(mContext, config, mPersistenceService, new SessionStateHandler(), cCrypto, new GigyaScheduler());
+        // Act
+        sessionService.loadAsync();
+        sessionService.setSession(mSessionInfo);
+        sessionService.flush();
+        // Assert. Session is shared via the multi process store.
+        final MultiProcessSessionStore.Entry entry = new MultiProcessSessionStore(mContext).read();
+        assertNotNull(entry);
+        assertTrue(entry.hasSession());
+    }
+
 }
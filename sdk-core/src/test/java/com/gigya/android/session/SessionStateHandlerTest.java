@@ -0,0 +1,85 @@
+package com.gigya.android.session;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.gigya.android.sdk.session.SessionStateHandler;
+import com.gigya.android.sdk.session.SessionStateObserver;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+
+public class SessionStateHandlerTest {
+
+    private SessionStateHandler cHandler;
+
+    private final List<Runnable> mDispatched = new ArrayList<>();
+
+    @Before
+    public void setup() {
+        cHandler = new SessionStateHandler();
+        // Queue dispatched notifications so the test controls when they run.
+        cHandler.setDispatcher(new Executor() {
+            @Override
+            public void execute(@NonNull Runnable runnable) {
+                mDispatched.add(runnable);
+            }
+        });
+    }
+
+    private void runDispatched() {
+        for (Runnable runnable : new ArrayList<>(mDispatched)) {
+            runnable.run();
+        }
+        mDispatched.clear();
+    }
+
+    @Test
+    public void testNotifyIsDispatched() {
+        // Arrange
+        final List<Object> received = new ArrayList<>();
+        cHandler.registerVerificationObserver(new SessionStateObserver() {
+            @Override
+            public void onSessionInvalidated(Object o) {
+                received.add(o);
+            }
+        });
+        // Act
+        cHandler.notifySessionInvalidated("data");
+        // Assert
+        assertEquals(0, received.size());
+        runDispatched();
+        assertEquals(1, received.size());
+        assertEquals("data", received.get(0));
+    }
+
+    @Test
+    public void testEventObserverReplay() {
+        // Arrange
+        final List<Integer> events = new ArrayList<>();
+        final SessionStateHandler.SessionEventObserver observer = new SessionStateHandler.SessionEventObserver() {
+            @Override
+            public void onSessionEvent(int event, @Nullable Object data) {
+                events.add(event);
+            }
+        };
+        cHandler.notifySessionExpired();
+        runDispatched();
+        // Act
+        cHandler.registerEventObserver(observer);
+        runDispatched();
+        cHandler.onSessionSet();
+        cHandler.removeEventObserver(observer);
+        cHandler.registerEventObserver(observer);
+        runDispatched();
+        // Assert
+        assertEquals(1, events.size());
+        assertEquals(SessionStateHandler.EVENT_SESSION_EXPIRED, (int) events.get(0));
+    }
+}
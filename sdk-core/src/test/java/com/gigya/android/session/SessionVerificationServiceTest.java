@@ -1,17 +1,36 @@
 package com.gigya.android.session;
 
 import com.gigya.android.BaseGigyaTest;
+import com.gigya.android.sdk.GigyaDefinitions;
+import com.gigya.android.sdk.account.AccountProjection;
+import com.gigya.android.sdk.api.ApiService;
+import com.gigya.android.sdk.api.GigyaApiRequest;
+import com.gigya.android.sdk.api.GigyaApiResponse;
+import com.gigya.android.sdk.network.GigyaError;
+import com.gigya.android.sdk.network.adapter.RestAdapter;
+import com.gigya.android.sdk.scheduler.GigyaScheduler;
 import com.gigya.android.sdk.session.SessionVerificationService;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.reflect.Whitebox;
 
+import java.util.Map;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.when;
 
 @RunWith(PowerMockRunner.class)
 public class SessionVerificationServiceTest extends BaseGigyaTest {
@@ -26,11 +45,64 @@ public class SessionVerificationServiceTest extends BaseGigyaTest {
         mockConfig();
 
         cSessionVerificationService = new SessionVerificationService(
-                mContext, mConfig, mSessionService, mAccountCacheService, mApiService, mRequestFactory, null
+                mContext, mConfig, mSessionService, mAccountCacheService, mApiService, mRequestFactory, null, new GigyaScheduler()
         );
     }
 
+    /**
+     * Dispatch verifyLogin & capture the request parameters and the response callback.
+     */
+    @SuppressWarnings("unchecked")
+    private ApiService.IApiServiceResponse verifyLogin(ArgumentCaptor<Map> params) throws Exception {
+        Whitebox.invokeMethod(cSessionVerificationService, "verifyLogin");
+        verify(mRequestFactory).create(eq(GigyaDefinitions.API.API_VERIFY_LOGIN), params.capture(), eq(RestAdapter.HttpMethod.POST));
+        final ArgumentCaptor<ApiService.IApiServiceResponse> callback = ArgumentCaptor.forClass(ApiService.IApiServiceResponse.class);
+        verify(mApiService).send(any(GigyaApiRequest.class), eq(false), callback.capture());
+        return callback.getValue();
+    }
 
+    private GigyaApiResponse mockSuccessResponse() {
+        final GigyaApiResponse response = mock(GigyaApiResponse.class);
+        when(response.getErrorCode()).thenReturn(0);
+        when(response.asJson()).thenReturn("{\"UID\":\"uid\"}");
+        return response;
+    }
 
+    @Test
+    public void testVerifyLoginRefreshesCachedAccount() throws Exception {
+        // Arrange
+        final ArgumentCaptor<Map> params = ArgumentCaptor.forClass(Map.class);
+        // Act
+        final ApiService.IApiServiceResponse callback = verifyLogin(params);
+        callback.onApiSuccess(mockSuccessResponse());
+        // Assert. Full payload is fed into the account cache.
+        assertEquals("identities-all,loginIDs,profile,email,data", params.getValue().get("include"));
+        final ArgumentCaptor<AccountProjection> projection = ArgumentCaptor.forClass(AccountProjection.class);
+        verify(mAccountCacheService).refreshAccount(eq("{\"UID\":\"uid\"}"), projection.capture());
+        assertNotNull(projection.getValue());
+    }
 
+    @Test
+    public void testLightweightVerifyLogin() throws Exception {
+        // Arrange
+        when(mConfig.isSessionVerificationLightweight()).thenReturn(true);
+        final ArgumentCaptor<Map> params = ArgumentCaptor.forClass(Map.class);
+        // Act
+        final ApiService.IApiServiceResponse callback = verifyLogin(params);
+        callback.onApiSuccess(mockSuccessResponse());
+        // Assert. Login identifiers only, the cached account is not refreshed.
+        assertEquals("loginIDs", params.getValue().get("include"));
+        verify(mAccountCacheService, never()).refreshAccount(anyString(), any(AccountProjection.class));
+    }
+
+    @Test
+    public void testFailedVerifyLoginDoesNotRefreshCachedAccount() throws Exception {
+        // Arrange
+        final ArgumentCaptor<Map> params = ArgumentCaptor.forClass(Map.class);
+        // Act
+        final ApiService.IApiServiceResponse callback = verifyLogin(params);
+        callback.onApiError(new GigyaError(GigyaError.Codes.ERROR_NETWORK, "offline", null));
+        // Assert
+        verify(mAccountCacheService, never()).refreshAccount(anyString(), any(AccountProjection.class));
+    }
 }
@@ -0,0 +1,70 @@
+package com.gigya.android.session;
+
+import com.gigya.android.sdk.session.VerificationSchedule;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class VerificationScheduleTest {
+
+    private static final long INTERVAL = 60000;
+
+    /*
+    Random source with a fixed center value (no jitter).
+     */
+    private final Random _centered = new Random() {
+        @Override
+        public double nextDouble() {
+            return 0.5;
+        }
+    };
+
+    @Test
+    public void testRecentSignedRequestDefersVerification() {
+        // Arrange
+        final VerificationSchedule schedule = new VerificationSchedule(_centered);
+        // Act
+        final long delay = schedule.delayUntilDue(INTERVAL, 100000, 80000, 0);
+        // Assert
+        assertEquals(40000, delay);
+    }
+
+    @Test
+    public void testPendingRequestsDeferVerification() {
+        // Arrange
+        final VerificationSchedule schedule = new VerificationSchedule(_centered);
+        // Act & Assert
+        assertTrue(schedule.delayUntilDue(INTERVAL, 200000, 80000, 1) > 0);
+        assertEquals(0, schedule.delayUntilDue(INTERVAL, 200000, 80000, 0));
+    }
+
+    @Test
+    public void testOfflineBackoff() {
+        // Arrange
+        final VerificationSchedule schedule = new VerificationSchedule(_centered);
+        // Act
+        schedule.onOffline();
+        schedule.onOffline();
+        // Assert
+        assertEquals(INTERVAL * 4, schedule.nextDelay(INTERVAL));
+        // Act
+        schedule.onVerified();
+        // Assert
+        assertEquals(INTERVAL, schedule.nextDelay(INTERVAL));
+    }
+
+    @Test
+    public void testJitterBounds() {
+        // Arrange
+        final VerificationSchedule schedule = new VerificationSchedule();
+        // Act & Assert
+        for (int i = 0; i < 100; i++) {
+            final long delay = schedule.nextDelay(INTERVAL);
+            assertTrue(delay >= INTERVAL * 0.9 && delay <= INTERVAL * 1.1);
+        }
+    }
+}
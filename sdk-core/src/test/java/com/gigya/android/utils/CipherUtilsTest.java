@@ -1,19 +1,56 @@
 package com.gigya.android.utils;
 
+import android.util.Base64;
+
 import com.gigya.android.sdk.utils.CipherUtils;
 
+import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.util.Random;
 
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Base64.class})
+@PowerMockIgnore("javax.crypto.*")
 public class CipherUtilsTest {
 
     private SecretKey secretKey = new SecretKeySpec(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16}, "AES");
 
+    @Before
+    public void setup() {
+        PowerMockito.mockStatic(Base64.class);
+        PowerMockito.when(Base64.decode(anyString(), anyInt())).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                return java.util.Base64.getDecoder().decode((String) invocation.getArguments()[0]);
+            }
+        });
+        PowerMockito.when(Base64.encodeToString(any(byte[].class), anyInt())).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                return java.util.Base64.getEncoder().encodeToString((byte[]) invocation.getArguments()[0]);
+            }
+        });
+    }
+
     @Test
     public void testBytesToString() {
         // Arrange
@@ -65,4 +102,39 @@ public class CipherUtilsTest {
         // Assert
         assertArrayEquals(new char[]{'t', 'e', 's', 't'}, chars);
     }
+
+    @Test
+    public void testEncodeDecode() {
+        // Arrange
+        final byte[] bytes = new byte[]{-127, -126, -125};
+        // Act
+        final String str = CipherUtils.encode(bytes);
+        // Assert
+        assertEquals("b64:gYKD", str);
+        assertTrue(CipherUtils.isCompact(str));
+        assertArrayEquals(bytes, CipherUtils.decode(str));
+    }
+
+    @Test
+    public void testDecodeLegacy() {
+        // Act
+        final byte[] bytes = CipherUtils.decode("f1if7");
+        // Assert
+        assertFalse(CipherUtils.isCompact("f1if7"));
+        assertArrayEquals(new byte[]{-127, -126, -125}, bytes);
+    }
+
+    @Test
+    public void testEncodedSize() {
+        // Arrange - session blob sized input.
+        final byte[] bytes = new byte[4096];
+        new Random(7).nextBytes(bytes);
+        // Act
+        final String compact = CipherUtils.encode(bytes);
+        final String legacy = CipherUtils.bytesToString(bytes);
+        // Assert
+        assertArrayEquals(bytes, CipherUtils.decode(compact));
+        assertArrayEquals(bytes, CipherUtils.decode(legacy));
+        assertTrue(compact.length() < legacy.length());
+    }
 }